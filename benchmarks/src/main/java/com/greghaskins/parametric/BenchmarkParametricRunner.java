@@ -0,0 +1,51 @@
+package com.greghaskins.parametric;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+public class BenchmarkParametricRunner<T> extends ParametricRunner<T> {
+
+	private final Invokers invokers = new Invokers();
+
+	public BenchmarkParametricRunner(final T testCase) throws InitializationError {
+		this(testCase, false);
+	}
+
+	public BenchmarkParametricRunner(final T testCase, final boolean fastInvocation)
+			throws InitializationError {
+		super(testCase);
+		if (fastInvocation) {
+			invokeWith(this.invokers);
+		}
+	}
+
+	public String name() {
+		return getName();
+	}
+
+	public String nameOf(final FrameworkMethod method) {
+		return testName(method);
+	}
+
+	public Object test() throws Exception {
+		return createTest();
+	}
+
+	public FrameworkMethod firstTestMethod() {
+		return getChildren().get(0);
+	}
+
+	public void invokeReflectively(final FrameworkMethod method) throws Throwable {
+		method.invokeExplosively(getTestCase());
+	}
+
+	public void invokeFast(final FrameworkMethod method) throws Throwable {
+		this.invokers.invokerFor(method).invoke(getTestCase());
+	}
+
+	public Statement statementFor(final FrameworkMethod method) {
+		return methodBlock(method);
+	}
+
+}
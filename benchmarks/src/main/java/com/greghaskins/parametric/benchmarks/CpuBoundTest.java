@@ -0,0 +1,48 @@
+package com.greghaskins.parametric.benchmarks;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.greghaskins.parametric.Parametric;
+import com.greghaskins.parametric.RunInParallel;
+import com.greghaskins.parametric.TestCases;
+
+@RunWith(Parametric.class)
+@RunInParallel
+public class CpuBoundTest {
+
+	public static int caseCount = 2000;
+
+	private final int seed;
+
+	public CpuBoundTest(final int seed) {
+		this.seed = seed;
+	}
+
+	@TestCases
+	public static Iterable<CpuBoundTest> testCases() {
+		final ArrayList<CpuBoundTest> cases = new ArrayList<CpuBoundTest>(caseCount);
+		for (int i = 0; i < caseCount; i++) {
+			cases.add(new CpuBoundTest(i));
+		}
+		return cases;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(this.seed);
+	}
+
+	@Test
+	public void burnCpu() {
+		long value = this.seed;
+		for (int i = 0; i < 200000; i++) {
+			value = value * 6364136223846793005L + 1442695040888963407L;
+		}
+		if (value == 42) {
+			System.out.println(value);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.greghaskins.parametric.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.greghaskins.parametric.Parametric;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DiscoveryBenchmark {
+
+	@Param({ "10", "10000", "1000000" })
+	public int caseCount;
+
+	@Setup
+	public void setUp() {
+		SyntheticAdderTest.caseCount = this.caseCount;
+	}
+
+	@Benchmark
+	public Parametric constructParametric() throws InitializationError {
+		return new Parametric(SyntheticAdderTest.class);
+	}
+
+	@Benchmark
+	public Parametric constructParametricFromPrimitiveRange() throws InitializationError {
+		return new Parametric(PrimitiveAdderTest.class);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.greghaskins.parametric.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class EndToEndBenchmark {
+
+	@Param({ "10", "10000", "1000000" })
+	public int caseCount;
+
+	@Setup
+	public void setUp() {
+		SyntheticAdderTest.caseCount = this.caseCount;
+	}
+
+	@Benchmark
+	public Result runSyntheticAdderTest() {
+		final Result result = new JUnitCore().run(SyntheticAdderTest.class);
+		if (!result.wasSuccessful()) {
+			throw new IllegalStateException(result.getFailures().toString());
+		}
+		return result;
+	}
+
+}
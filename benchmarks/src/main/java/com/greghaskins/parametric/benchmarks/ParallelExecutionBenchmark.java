@@ -0,0 +1,46 @@
+package com.greghaskins.parametric.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ParallelExecutionBenchmark {
+
+	@Param({ "1", "2", "4", "8", "16", "32" })
+	public int threads;
+
+	@Setup
+	public void setUp() {
+		System.setProperty("parametric.threads", String.valueOf(this.threads));
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.clearProperty("parametric.threads");
+	}
+
+	@Benchmark
+	public Result runCpuBoundTest() {
+		return new JUnitCore().run(CpuBoundTest.class);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.greghaskins.parametric.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.greghaskins.parametric.IntCases;
+import com.greghaskins.parametric.Parametric;
+import com.greghaskins.parametric.ReusableTestCase;
+import com.greghaskins.parametric.TestCases;
+
+/**
+ * The same sweep as {@link SyntheticAdderTest}, generated from a primitive
+ * range and bound to a reused instance.
+ */
+@RunWith(Parametric.class)
+public class PrimitiveAdderTest implements ReusableTestCase<int[]> {
+
+	private int left;
+	private int right;
+	private long expectedSum;
+
+	@TestCases
+	public static IntCases testCases() {
+		return IntCases.range(0, SyntheticAdderTest.caseCount);
+	}
+
+	public void bind(final int[] values) {
+		this.left = values[0];
+		this.right = -values[0] / 2;
+		this.expectedSum = values[0] - values[0] / 2;
+	}
+
+	@Test
+	public void additionIsPerformedCorrectlyLeftToRight() {
+		assertEquals(this.expectedSum, (long) this.left + this.right);
+	}
+
+	@Test
+	public void additionIsCommutativeRightToLeft() {
+		assertEquals(this.expectedSum, (long) this.right + this.left);
+	}
+}
@@ -0,0 +1,88 @@
+package com.greghaskins.parametric.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.greghaskins.parametric.BenchmarkParametricRunner;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RunnerOverheadBenchmark {
+
+	private SyntheticAdderTest testCase;
+	private BenchmarkParametricRunner<SyntheticAdderTest> runner;
+	private BenchmarkParametricRunner<SyntheticAdderTest> fastRunner;
+	private FrameworkMethod testMethod;
+
+	@Setup
+	public void setUp() throws InitializationError {
+		this.testCase = new SyntheticAdderTest(44728, 2346, 47074);
+		this.runner = new BenchmarkParametricRunner<SyntheticAdderTest>(this.testCase);
+		this.fastRunner = new BenchmarkParametricRunner<SyntheticAdderTest>(this.testCase, true);
+		this.testMethod = this.runner.firstTestMethod();
+	}
+
+	@Benchmark
+	public BenchmarkParametricRunner<SyntheticAdderTest> constructRunner()
+			throws InitializationError {
+		return new BenchmarkParametricRunner<SyntheticAdderTest>(this.testCase);
+	}
+
+	@Benchmark
+	public String buildCaseName() {
+		return this.runner.name();
+	}
+
+	@Benchmark
+	public String buildTestName() {
+		return this.runner.nameOf(this.testMethod);
+	}
+
+	@Benchmark
+	public Object createTest() throws Exception {
+		return this.runner.test();
+	}
+
+	@Benchmark
+	public Statement buildStatement() {
+		return this.runner.statementFor(this.testMethod);
+	}
+
+	@Benchmark
+	public void runTestMethod() throws Throwable {
+		this.runner.statementFor(this.testMethod).evaluate();
+	}
+
+	@Benchmark
+	public void runTestMethodWithFastInvocation() throws Throwable {
+		this.fastRunner.statementFor(this.testMethod).evaluate();
+	}
+
+	@Benchmark
+	public void invokeTestMethodReflectively() throws Throwable {
+		this.runner.invokeReflectively(this.testMethod);
+	}
+
+	@Benchmark
+	public void invokeTestMethodFast() throws Throwable {
+		this.runner.invokeFast(this.testMethod);
+	}
+
+}
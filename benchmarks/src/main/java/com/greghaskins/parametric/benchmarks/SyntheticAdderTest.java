@@ -0,0 +1,53 @@
+package com.greghaskins.parametric.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.greghaskins.parametric.Parametric;
+import com.greghaskins.parametric.TestCases;
+
+@RunWith(Parametric.class)
+public class SyntheticAdderTest {
+
+	public static int caseCount = 10;
+
+	private final int left;
+	private final int right;
+	private final long expectedSum;
+
+	public SyntheticAdderTest(final int left, final int right, final long expectedSum) {
+		this.left = left;
+		this.right = right;
+		this.expectedSum = expectedSum;
+	}
+
+	@TestCases
+	public static Iterable<SyntheticAdderTest> testCases() {
+		final ArrayList<SyntheticAdderTest> cases = new ArrayList<SyntheticAdderTest>(caseCount);
+		for (int i = 0; i < caseCount; i++) {
+			cases.add(new SyntheticAdderTest(i, -i / 2, i - i / 2));
+		}
+		return cases;
+	}
+
+	@Override
+	public String toString() {
+		return MessageFormat
+				.format("{0} and {1} make {2}", this.left, this.right, this.expectedSum);
+	}
+
+	@Test
+	public void additionIsPerformedCorrectlyLeftToRight() {
+		assertEquals(this.expectedSum, (long) this.left + this.right);
+	}
+
+	@Test
+	public void additionIsCommutativeRightToLeft() {
+		assertEquals(this.expectedSum, (long) this.right + this.left);
+	}
+}
@@ -0,0 +1,24 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public static method of a {@link Parametric} test class to run once
+ * after the last case of each group has finished, even when cases run in
+ * parallel or setup failed. It may take one parameter, which receives the
+ * group's fixture of that type, if any.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AfterCases {
+
+	/**
+	 * Names of the {@link TestCases} methods whose groups this applies to.
+	 * When empty (the default) it applies to every group.
+	 */
+	String[] value() default {};
+
+}
@@ -0,0 +1,25 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public static, no-argument method of a {@link Parametric} test class
+ * to run once before the cases of each group, where a group is the cases of
+ * one {@link TestCases} method. It runs just before the first case of the
+ * group that actually runs. A value it returns is the group's fixture, given
+ * to {@link CasesFixture} fields and {@link AfterCases} methods.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BeforeCases {
+
+	/**
+	 * Names of the {@link TestCases} methods whose groups this applies to.
+	 * When empty (the default) it applies to every group.
+	 */
+	String[] value() default {};
+
+}
@@ -0,0 +1,41 @@
+package com.greghaskins.parametric;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes the files kept between runs so that a reader, or another process
+ * writing the same file, never sees it half written.
+ */
+final class CacheFiles {
+
+	private CacheFiles() {
+	}
+
+	/**
+	 * A new, uniquely named file next to {@code target}, creating the
+	 * directory if needed.
+	 */
+	static File newTemporaryFile(final File target) throws IOException {
+		final File directory = target.getAbsoluteFile().getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+			throw new IOException("Could not create " + directory);
+		}
+		return File.createTempFile(target.getName() + ".", ".tmp", directory);
+	}
+
+	/**
+	 * Moves {@code written} over {@code target}. Where the platform cannot
+	 * rename over an existing file, the target is deleted first.
+	 */
+	static void replace(final File written, final File target) throws IOException {
+		if (written.renameTo(target)) {
+			return;
+		}
+		if (!target.delete() || !written.renameTo(target)) {
+			written.delete();
+			throw new IOException("Could not replace " + target);
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Saves the test cases returned by a {@link TestCases} method to a binary file
+ * and reads them back on later runs instead of calling the method. The cases
+ * must be {@link java.io.Serializable}. The file is discarded whenever the
+ * bytecode of the test class, of a case class, or of a class listed in
+ * {@link #dependsOn()} changes, or the contents of a file listed in
+ * {@link #inputs()} change. Setting the {@code parametric.casesCache.refresh}
+ * system property to {@code true} calls every cached method again, and
+ * setting {@code parametric.casesCache} to {@code false} turns caching off.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheTestCases {
+
+	/**
+	 * Files the method reads its cases from, relative to the working
+	 * directory.
+	 */
+	String[] inputs() default {};
+
+	/**
+	 * Classes whose changes should also cause the method to be called again.
+	 */
+	Class<?>[] dependsOn() default {};
+
+	/**
+	 * Directory holding the cached cases. The
+	 * {@code parametric.casesCache.dir} system property takes precedence.
+	 */
+	String directory() default ".parametric-cache";
+
+}
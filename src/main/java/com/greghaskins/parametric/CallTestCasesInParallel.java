@@ -0,0 +1,26 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Calls the {@link TestCases} methods of a {@link Parametric} test class
+ * concurrently while the suite is built, for classes with several slow
+ * methods that do not share state. Setting the
+ * {@code parametric.testCasesInParallel} system property to {@code true} does
+ * the same for every test class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CallTestCasesInParallel {
+
+	/**
+	 * The most methods to call at once. When zero (the default) the
+	 * {@code parametric.threads} system property is used if set, otherwise
+	 * the number of available processors.
+	 */
+	int threads() default 0;
+
+}
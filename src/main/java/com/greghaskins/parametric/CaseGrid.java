@@ -0,0 +1,90 @@
+package com.greghaskins.parametric;
+
+/**
+ * The positions of every combination of one position from each of several
+ * dimensions, numbered so that the last dimension varies fastest. Shared by
+ * the indexed test cases that produce every combination, which map each
+ * position to a value of their own type.
+ */
+final class CaseGrid {
+
+	private final int[] sizes;
+	private final int[] strides;
+	private final int size;
+
+	CaseGrid(final int[] sizes) {
+		this.sizes = sizes;
+		this.strides = new int[sizes.length];
+		long product = 1;
+		for (int dimension = sizes.length - 1; dimension >= 0; dimension--) {
+			this.strides[dimension] = (int) product;
+			product *= sizes[dimension];
+			if (product > Integer.MAX_VALUE) {
+				throw tooManyTestCases();
+			}
+		}
+		this.size = (int) product;
+	}
+
+	/**
+	 * The number of values from {@code startInclusive} up to, but not
+	 * including, {@code endExclusive}.
+	 */
+	static int rangeSize(final long startInclusive, final long endExclusive) {
+		if (endExclusive <= startInclusive) {
+			return 0;
+		}
+		final long count = endExclusive - startInclusive;
+		if (count < 0 || count > Integer.MAX_VALUE) {
+			throw tooManyTestCases();
+		}
+		return (int) count;
+	}
+
+	/**
+	 * The number of values from {@code startInclusive} up to and including
+	 * {@code endInclusive}, computed without going past {@code endInclusive}
+	 * so that a range may end at the largest value of its type.
+	 */
+	static int closedRangeSize(final long startInclusive, final long endInclusive) {
+		if (endInclusive < startInclusive) {
+			return 0;
+		}
+		final long count = endInclusive - startInclusive;
+		if (count < 0 || count >= Integer.MAX_VALUE) {
+			throw tooManyTestCases();
+		}
+		return (int) count + 1;
+	}
+
+	private static IllegalArgumentException tooManyTestCases() {
+		return new IllegalArgumentException("Too many test cases: more than " + Integer.MAX_VALUE);
+	}
+
+	int dimensions() {
+		return this.sizes.length;
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	int size(final int dimension) {
+		return this.sizes[dimension];
+	}
+
+	void checkIndex(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Test case " + index + " does not exist");
+		}
+	}
+
+	/**
+	 * The position within {@code dimension} of the combination at
+	 * {@code index}.
+	 */
+	int position(final int index, final int dimension) {
+		return index / this.strides[dimension] % this.sizes[dimension];
+	}
+
+}
@@ -0,0 +1,236 @@
+package com.greghaskins.parametric;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Runner;
+import org.junit.runners.model.InitializationError;
+
+class CaseHistory {
+
+	static final String ENABLED_PROPERTY = "parametric.history";
+	static final String DIRECTORY_PROPERTY = "parametric.history.dir";
+
+	private final File file;
+	private final CaseOrder order;
+	private final ConcurrentMap<String, Outcome> outcomes = new ConcurrentHashMap<String, Outcome>();
+	private final ConcurrentMap<String, Boolean> seen = new ConcurrentHashMap<String, Boolean>();
+	private volatile boolean changed;
+
+	CaseHistory(final File file, final CaseOrder order) throws IOException {
+		this.file = file;
+		this.order = order;
+		load();
+	}
+
+	static CaseHistory forTestClass(final Class<?> testClass) throws InitializationError {
+		final OrderByHistory annotation = testClass.getAnnotation(OrderByHistory.class);
+		if (annotation == null || "false".equals(System.getProperty(ENABLED_PROPERTY))) {
+			return null;
+		}
+		final File directory = new File(System.getProperty(DIRECTORY_PROPERTY,
+				annotation.directory()));
+		try {
+			return new CaseHistory(new File(directory, testClass.getName() + ".history"),
+					annotation.value());
+		} catch (final IOException e) {
+			throw new InitializationError(e);
+		}
+	}
+
+	private void load() throws IOException {
+		if (!this.file.isFile()) {
+			return;
+		}
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(this.file), "UTF-8"));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final String[] fields = line.split("\t", 4);
+				if (fields.length < 4) {
+					continue;
+				}
+				try {
+					this.outcomes.put(keyFor(unescape(fields[2]), unescape(fields[3])),
+							new Outcome(Long.parseLong(fields[0]), Boolean.parseBoolean(fields[1])));
+				} catch (final NumberFormatException e) {
+					continue;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Cases of different {@link TestCases} methods may have the same name, so
+	 * outcomes are kept per method.
+	 */
+	private static String keyFor(final String testCasesMethodName, final String caseName) {
+		return testCasesMethodName + '\u0000' + caseName;
+	}
+
+	void record(final String testCasesMethodName, final String caseName, final long nanos,
+			final boolean failed) {
+		final String key = keyFor(testCasesMethodName, caseName);
+		this.outcomes.put(key, new Outcome(nanos, failed));
+		this.seen.put(key, Boolean.TRUE);
+		this.changed = true;
+	}
+
+	boolean hasOutcome(final String testCasesMethodName, final String caseName) {
+		return this.outcomes.containsKey(keyFor(testCasesMethodName, caseName));
+	}
+
+	/**
+	 * Sorts {@code runners} by the configured {@link CaseOrder}. The sort is
+	 * stable, so cases that compare equal keep their order.
+	 */
+	void order(final List<Runner> runners) {
+		for (final Runner runner : runners) {
+			if (runner instanceof ParametricRunner) {
+				this.seen.put(keyOf((ParametricRunner<?>) runner), Boolean.TRUE);
+			}
+		}
+		if (this.outcomes.isEmpty()) {
+			return;
+		}
+		final long averageNanos = averageNanos();
+		Collections.sort(runners, new Comparator<Runner>() {
+
+			public int compare(final Runner left, final Runner right) {
+				final Outcome leftOutcome = outcomeOf(left);
+				final Outcome rightOutcome = outcomeOf(right);
+				if (CaseHistory.this.order == CaseOrder.FAILING_FIRST) {
+					return failed(rightOutcome) - failed(leftOutcome);
+				}
+				final long leftNanos = leftOutcome != null ? leftOutcome.nanos : averageNanos;
+				final long rightNanos = rightOutcome != null ? rightOutcome.nanos : averageNanos;
+				return leftNanos > rightNanos ? -1 : (leftNanos == rightNanos ? 0 : 1);
+			}
+		});
+	}
+
+	private Outcome outcomeOf(final Runner runner) {
+		if (!(runner instanceof ParametricRunner)) {
+			return null;
+		}
+		return this.outcomes.get(keyOf((ParametricRunner<?>) runner));
+	}
+
+	private static String keyOf(final ParametricRunner<?> runner) {
+		return keyFor(runner.getTestCasesMethodName(), runner.getName());
+	}
+
+	private static int failed(final Outcome outcome) {
+		return outcome != null && outcome.failed ? 1 : 0;
+	}
+
+	private long averageNanos() {
+		long total = 0;
+		for (final Outcome outcome : this.outcomes.values()) {
+			total += outcome.nanos;
+		}
+		return total / this.outcomes.size();
+	}
+
+	/**
+	 * Writes the outcomes of the cases built or run this time, dropping those
+	 * of cases that no longer exist.
+	 */
+	synchronized void save() throws IOException {
+		if (!this.changed && this.seen.keySet().containsAll(this.outcomes.keySet())) {
+			return;
+		}
+		final File written = CacheFiles.newTemporaryFile(this.file);
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(written), "UTF-8");
+		try {
+			for (final Map.Entry<String, Outcome> entry : this.outcomes.entrySet()) {
+				if (!this.seen.containsKey(entry.getKey())) {
+					continue;
+				}
+				final String[] names = entry.getKey().split("\u0000", 2);
+				writer.write(Long.toString(entry.getValue().nanos));
+				writer.write('\t');
+				writer.write(Boolean.toString(entry.getValue().failed));
+				writer.write('\t');
+				writer.write(escape(names[0]));
+				writer.write('\t');
+				writer.write(escape(names[1]));
+				writer.write('\n');
+			}
+		} catch (final IOException e) {
+			writer.close();
+			written.delete();
+			throw e;
+		}
+		writer.close();
+		CacheFiles.replace(written, this.file);
+		this.outcomes.keySet().retainAll(this.seen.keySet());
+		this.changed = false;
+	}
+
+	private static String escape(final String name) {
+		final StringBuilder escaped = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			switch (c) {
+			case '\\':
+				escaped.append("\\\\");
+				break;
+			case '\t':
+				escaped.append("\\t");
+				break;
+			case '\n':
+				escaped.append("\\n");
+				break;
+			case '\r':
+				escaped.append("\\r");
+				break;
+			default:
+				escaped.append(c);
+			}
+		}
+		return escaped.toString();
+	}
+
+	private static String unescape(final String field) {
+		final StringBuilder name = new StringBuilder(field.length());
+		for (int i = 0; i < field.length(); i++) {
+			final char c = field.charAt(i);
+			if (c != '\\' || i + 1 == field.length()) {
+				name.append(c);
+				continue;
+			}
+			final char escaped = field.charAt(++i);
+			name.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r'
+					: escaped);
+		}
+		return name.toString();
+	}
+
+	private static final class Outcome {
+
+		final long nanos;
+		final boolean failed;
+
+		Outcome(final long nanos, final boolean failed) {
+			this.nanos = nanos;
+			this.failed = failed;
+		}
+	}
+
+}
@@ -0,0 +1,235 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.runners.model.InitializationError;
+
+final class CaseIdentity {
+
+	private static final Comparator<Field> BY_NAME = new Comparator<Field>() {
+
+		public int compare(final Field left, final Field right) {
+			return left.getName().compareTo(right.getName());
+		}
+	};
+
+	private CaseIdentity() {
+	}
+
+	static String of(final Object testCase, final String name) throws InitializationError {
+		final String key = caseKey(testCase);
+		if (key != null) {
+			return key;
+		}
+		return "state:" + name + ":" + hashState(testCase);
+	}
+
+	/**
+	 * The identity a case is sharded by. A name that comes from the position
+	 * of the case changes whenever an earlier case is added or removed, so
+	 * such cases are sharded by their state alone.
+	 */
+	static String forSharding(final Object testCase, final String name,
+			final boolean namedByIndex) throws InitializationError {
+		final String key = caseKey(testCase);
+		if (key != null) {
+			return key;
+		}
+		if (namedByIndex) {
+			return "state:" + hashState(testCase);
+		}
+		return name;
+	}
+
+	private static String caseKey(final Object testCase) throws InitializationError {
+		final Method caseKeyMethod = CaseNamer.findStringMethod(testCase.getClass(), CaseKey.class);
+		if (caseKeyMethod == null) {
+			return null;
+		}
+		try {
+			return "key:" + caseKeyMethod.invoke(testCase);
+		} catch (final InvocationTargetException e) {
+			throw new InitializationError(e.getCause());
+		} catch (final IllegalAccessException e) {
+			throw new InitializationError(e);
+		}
+	}
+
+	/**
+	 * Hashes the fields of the case by value, following references into other
+	 * objects, so that equal cases built on later runs get the same identity.
+	 * A value with no such representation fails the case rather than giving
+	 * it an identity that changes on every run.
+	 */
+	private static String hashState(final Object testCase) throws InitializationError {
+		final StringBuilder state = new StringBuilder();
+		new StateRenderer(testCase).render(testCase, state);
+		return Hashing.hash(state.toString());
+	}
+
+	private static List<Field> instanceFieldsByName(final Class<?> type) {
+		final List<Field> fields = new ArrayList<Field>();
+		for (final Field field : type.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+				fields.add(field);
+			}
+		}
+		Collections.sort(fields, BY_NAME);
+		return fields;
+	}
+
+	private static Object fieldValue(final Field field, final Object testCase)
+			throws InitializationError {
+		try {
+			field.setAccessible(true);
+			return field.get(testCase);
+		} catch (final Exception e) {
+			throw new InitializationError(e);
+		}
+	}
+
+	private static boolean isPlatformClass(final Class<?> type) {
+		return type.getClassLoader() == null || type.getName().startsWith("java.")
+				|| type.getName().startsWith("javax.");
+	}
+
+	private static boolean hasOwnToString(final Class<?> type) {
+		try {
+			return type.getMethod("toString").getDeclaringClass() != Object.class;
+		} catch (final NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static final class StateRenderer {
+
+		private final Object testCase;
+		private final Map<Object, Integer> path = new IdentityHashMap<Object, Integer>();
+
+		StateRenderer(final Object testCase) {
+			this.testCase = testCase;
+		}
+
+		private void renderFields(final Object value, final StringBuilder out)
+				throws InitializationError {
+			for (Class<?> type = value.getClass(); type != null
+					&& !isPlatformClass(type); type = type.getSuperclass()) {
+				for (final Field field : instanceFieldsByName(type)) {
+					out.append(field.getName()).append('=');
+					render(fieldValue(field, value), out);
+					out.append(';');
+				}
+			}
+		}
+
+		/**
+		 * Values of the JDK are rendered by their own {@code toString}, arrays
+		 * and collections element by element, and other objects by their
+		 * fields. A reference back to an object that is still being rendered
+		 * is written as its depth.
+		 */
+		void render(final Object value, final StringBuilder out)
+				throws InitializationError {
+			if (value == null) {
+				out.append("null");
+				return;
+			}
+			if (value instanceof Class) {
+				out.append(((Class<?>) value).getName());
+				return;
+			}
+			if (value instanceof Enum) {
+				final Enum<?> constant = (Enum<?>) value;
+				out.append(constant.getDeclaringClass().getName()).append('.')
+						.append(constant.name());
+				return;
+			}
+			final Class<?> type = value.getClass();
+			if (isPlatformClass(type) && !type.isArray() && !(value instanceof Collection)
+					&& !(value instanceof Map)) {
+				if (!hasOwnToString(type)) {
+					throw new InvalidParametricTestClassException(MessageFormat.format(
+							"Cannot identify test case {0} by its state, "
+									+ "because {1} has no stable value; "
+									+ "add a @CaseKey method to {2}", this.testCase,
+							type.getName(), this.testCase.getClass().getName()));
+				}
+				out.append(type.getName()).append(':').append(value);
+				return;
+			}
+			final Integer depth = this.path.get(value);
+			if (depth != null) {
+				out.append('^').append(depth);
+				return;
+			}
+			this.path.put(value, this.path.size());
+			try {
+				if (type.isArray()) {
+					out.append('[');
+					for (int i = 0; i < Array.getLength(value); i++) {
+						render(Array.get(value, i), out);
+						out.append(',');
+					}
+					out.append(']');
+				} else if (value instanceof Map) {
+					final List<String> entries = new ArrayList<String>();
+					for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+						final StringBuilder rendered = new StringBuilder();
+						render(entry.getKey(), rendered);
+						rendered.append('=');
+						render(entry.getValue(), rendered);
+						entries.add(rendered.toString());
+					}
+					renderUnordered(entries, out);
+				} else if (value instanceof Set) {
+					final List<String> elements = new ArrayList<String>();
+					for (final Object element : (Set<?>) value) {
+						final StringBuilder rendered = new StringBuilder();
+						render(element, rendered);
+						elements.add(rendered.toString());
+					}
+					renderUnordered(elements, out);
+				} else if (value instanceof Collection) {
+					out.append('[');
+					for (final Object element : (Collection<?>) value) {
+						render(element, out);
+						out.append(',');
+					}
+					out.append(']');
+				} else {
+					if (!type.isSynthetic()) {
+						out.append(type.getName());
+					}
+					out.append('{');
+					renderFields(value, out);
+					out.append('}');
+				}
+			} finally {
+				this.path.remove(value);
+			}
+		}
+
+		private static void renderUnordered(final List<String> rendered, final StringBuilder out) {
+			Collections.sort(rendered);
+			out.append('{');
+			for (final String element : rendered) {
+				out.append(element).append(',');
+			}
+			out.append('}');
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public, no-argument instance method returning {@code String} that
+ * identifies a test case for {@link IncrementalRun}. Without one, a case is
+ * identified by its name and the values of its fields, following references
+ * into other objects, arrays and collections. A field holding a JDK object
+ * with no {@code toString} of its own, whose value would differ on every
+ * run, fails the case until it has a {@code CaseKey} method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CaseKey {
+
+}
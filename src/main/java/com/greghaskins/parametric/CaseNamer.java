@@ -0,0 +1,119 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.runners.model.InitializationError;
+
+class CaseNamer {
+
+	static final CaseNamer DEFAULT = new CaseNamer(null, CaseNaming.DEFAULT);
+
+	private final Method testCasesMethod;
+	private final CaseNaming naming;
+
+	private CaseNamer(final Method testCasesMethod, final CaseNaming naming) {
+		this.testCasesMethod = testCasesMethod;
+		this.naming = naming;
+	}
+
+	static CaseNamer forMethod(final Method testCasesMethod) {
+		return new CaseNamer(testCasesMethod, testCasesMethod.getAnnotation(TestCases.class)
+				.naming());
+	}
+
+	String nameFor(final Object testCase, final int index) throws InitializationError {
+		if (testCase == null) {
+			throw new InvalidParametricTestClassException("Test case instances may not be null");
+		}
+		if (namesByIndex()) {
+			return nameForIndex(index);
+		}
+		if (testCase instanceof int[]) {
+			return Arrays.toString((int[]) testCase);
+		}
+		if (testCase instanceof long[]) {
+			return Arrays.toString((long[]) testCase);
+		}
+		if (testCase instanceof Object[]) {
+			return Arrays.toString((Object[]) testCase);
+		}
+		final Method caseNameMethod = findStringMethod(testCase.getClass(), CaseName.class);
+		if (caseNameMethod == null) {
+			return "[" + testCase.toString() + "]";
+		}
+		try {
+			return "[" + caseNameMethod.invoke(testCase) + "]";
+		} catch (final InvocationTargetException e) {
+			throw new InitializationError(e.getCause());
+		} catch (final IllegalAccessException e) {
+			throw new InitializationError(e);
+		}
+	}
+
+	boolean namesByIndex() {
+		return this.naming == CaseNaming.INDEX;
+	}
+
+	String nameForIndex(final int index) {
+		return "[" + this.testCasesMethod.getName() + " " + index + "]";
+	}
+
+	static Method findStringMethod(final Class<?> testClass,
+			final Class<? extends Annotation> annotationType)
+			throws InvalidParametricTestClassException {
+		final List<Method> methods = annotatedMethods(testClass, annotationType);
+		if (methods.isEmpty()) {
+			return null;
+		}
+		final Method method = methods.get(0);
+		if (methods.size() > 1 || Modifier.isStatic(method.getModifiers())
+				|| !Modifier.isPublic(method.getModifiers())
+				|| method.getParameterTypes().length > 0
+				|| !String.class.equals(method.getReturnType())) {
+			throw new InvalidParametricTestClassException(MessageFormat.format(
+					"{0} must have at most one @{1} method, "
+							+ "and it must be a public instance method returning String "
+							+ "with no parameters", testClass.getName(),
+					annotationType.getSimpleName()));
+		}
+		return method;
+	}
+
+	/**
+	 * Found with plain reflection rather than a JUnit {@code TestClass}, since
+	 * a case may be any parameter object bound to a {@link ReusableTestCase},
+	 * such as an {@code Integer}. Classes of the JDK are not searched, and a
+	 * method overridden lower in the hierarchy is only counted once.
+	 */
+	private static List<Method> annotatedMethods(final Class<?> type,
+			final Class<? extends Annotation> annotationType) {
+		final List<Method> methods = new ArrayList<Method>();
+		for (Class<?> current = type; current != null
+				&& current.getClassLoader() != null; current = current.getSuperclass()) {
+			for (final Method method : current.getDeclaredMethods()) {
+				if (method.isAnnotationPresent(annotationType) && !isOverridden(method, methods)) {
+					methods.add(method);
+				}
+			}
+		}
+		return methods;
+	}
+
+	private static boolean isOverridden(final Method method, final List<Method> lowerMethods) {
+		for (final Method lower : lowerMethods) {
+			if (lower.getName().equals(method.getName())
+					&& Arrays.equals(lower.getParameterTypes(), method.getParameterTypes())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
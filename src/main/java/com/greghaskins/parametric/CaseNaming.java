@@ -0,0 +1,17 @@
+package com.greghaskins.parametric;
+
+public enum CaseNaming {
+
+	/**
+	 * Name each case with its {@link CaseName} method if the test class has
+	 * one, otherwise with {@code toString()}.
+	 */
+	DEFAULT,
+
+	/**
+	 * Name each case with the name of its {@link TestCases} method and its
+	 * position in the returned Iterable, without calling into the test case.
+	 */
+	INDEX
+
+}
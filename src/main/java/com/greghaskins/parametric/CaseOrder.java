@@ -0,0 +1,20 @@
+package com.greghaskins.parametric;
+
+/**
+ * How {@link OrderByHistory} orders test cases, based on earlier runs.
+ */
+public enum CaseOrder {
+
+	/**
+	 * Slowest cases first, so that parallel workers finish at about the same
+	 * time. Cases without history count as taking the average time.
+	 */
+	LONGEST_FIRST,
+
+	/**
+	 * Cases that failed last time first, so failures are reported early.
+	 * Other cases keep their order.
+	 */
+	FAILING_FIRST
+
+}
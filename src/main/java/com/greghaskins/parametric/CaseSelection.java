@@ -0,0 +1,116 @@
+package com.greghaskins.parametric;
+
+import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.regex.Pattern;
+
+import org.junit.runners.model.InitializationError;
+
+final class CaseSelection {
+
+	static final String NAME_PROPERTY = "parametric.case.name";
+	static final String INDEX_PROPERTY = "parametric.case.index";
+
+	static final CaseSelection ALL = new CaseSelection(null, null);
+
+	private final Pattern namePattern;
+	private final BitSet indexes;
+
+	CaseSelection(final Pattern namePattern, final BitSet indexes) {
+		this.namePattern = namePattern;
+		this.indexes = indexes;
+	}
+
+	static CaseSelection fromSystemProperties() throws InitializationError {
+		final String nameProperty = System.getProperty(NAME_PROPERTY);
+		final String indexProperty = System.getProperty(INDEX_PROPERTY);
+		if (nameProperty == null && indexProperty == null) {
+			return ALL;
+		}
+		return new CaseSelection(nameProperty != null ? globPattern(nameProperty.trim()) : null,
+				indexProperty != null ? parseIndexes(indexProperty) : null);
+	}
+
+	private static Pattern globPattern(final String glob) {
+		final StringBuilder regex = new StringBuilder();
+		int start = 0;
+		for (int star = glob.indexOf('*'); star >= 0; star = glob.indexOf('*', start)) {
+			regex.append(Pattern.quote(glob.substring(start, star))).append(".*");
+			start = star + 1;
+		}
+		regex.append(Pattern.quote(glob.substring(start)));
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+
+	/**
+	 * Parses indexes such as {@code 7} or {@code 0-99,250}.
+	 */
+	private static BitSet parseIndexes(final String property) throws InitializationError {
+		final BitSet indexes = new BitSet();
+		try {
+			for (final String part : property.split(",")) {
+				final int dash = part.indexOf('-');
+				final int from = Integer.parseInt(part.substring(0, dash < 0 ? part.length()
+						: dash).trim());
+				final int to = dash < 0 ? from : Integer.parseInt(part.substring(dash + 1).trim());
+				if (from < 0 || to < from) {
+					throw invalidIndexException(property);
+				}
+				indexes.set(from, to + 1);
+			}
+		} catch (final NumberFormatException e) {
+			throw invalidIndexException(property);
+		}
+		return indexes;
+	}
+
+	private static InitializationError invalidIndexException(final String property) {
+		return new InitializationError(MessageFormat.format(
+				"Invalid {0} \"{1}\": give indexes or ranges of indexes from 0, such as 0-99,250",
+				INDEX_PROPERTY, property));
+	}
+
+	boolean isSelecting() {
+		return this.namePattern != null || this.indexes != null;
+	}
+
+	/**
+	 * Whether the case at {@code index} of its {@link TestCases} method may be
+	 * selected. Checked before the case is created or named.
+	 */
+	boolean includesIndex(final int index) {
+		return this.indexes == null || this.indexes.get(index);
+	}
+
+	/**
+	 * The position after which no case is selected, so a provider need not be
+	 * walked any further.
+	 */
+	int getLastIndex() {
+		return this.indexes == null ? Integer.MAX_VALUE : this.indexes.length() - 1;
+	}
+
+	/**
+	 * The first index from {@code index} on that may be selected, or -1 if
+	 * there is none.
+	 */
+	int nextIndex(final int index) {
+		return this.indexes == null ? index : this.indexes.nextSetBit(index);
+	}
+
+	/**
+	 * Whether the case named {@code name} is selected. The pattern may match
+	 * the name with or without its surrounding brackets.
+	 */
+	boolean includesName(final String name) {
+		if (this.namePattern == null) {
+			return true;
+		}
+		if (this.namePattern.matcher(name).matches()) {
+			return true;
+		}
+		return name.length() >= 2 && name.startsWith("[") && name.endsWith("]")
+				&& this.namePattern.matcher(name.substring(1, name.length() - 1)).matches();
+	}
+
+}
@@ -0,0 +1,303 @@
+package com.greghaskins.parametric;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.text.MessageFormat;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.runners.model.InitializationError;
+
+/**
+ * The test cases of one {@link CacheTestCases} method, kept in a file that
+ * starts with a key for everything the cases were derived from, followed by
+ * the serialized cases.
+ */
+final class CasesCache {
+
+	static final String ENABLED_PROPERTY = "parametric.casesCache";
+	static final String REFRESH_PROPERTY = "parametric.casesCache.refresh";
+	static final String DIRECTORY_PROPERTY = "parametric.casesCache.dir";
+
+	private static final int MAGIC = 0x50434331;
+	private static final int RESET_INTERVAL = 1024;
+
+	private final File file;
+	private final String key;
+	private final ClassLoader classLoader;
+
+	CasesCache(final File file, final String key, final ClassLoader classLoader) {
+		this.file = file;
+		this.key = key;
+		this.classLoader = classLoader;
+	}
+
+	static CasesCache forMethod(final Method testCasesMethod) throws InitializationError {
+		final CacheTestCases annotation = testCasesMethod.getAnnotation(CacheTestCases.class);
+		if (annotation == null || "false".equals(System.getProperty(ENABLED_PROPERTY))) {
+			return null;
+		}
+		final Class<?> testClass = testCasesMethod.getDeclaringClass();
+		final File directory = new File(System.getProperty(DIRECTORY_PROPERTY,
+				annotation.directory()));
+		try {
+			final String key = keyFor(testCasesMethod, annotation);
+			if (key == null) {
+				return null;
+			}
+			return new CasesCache(new File(directory, testClass.getName() + "."
+					+ testCasesMethod.getName() + ".cases"), key, testClass.getClassLoader());
+		} catch (final IOException e) {
+			throw new InitializationError(e);
+		}
+	}
+
+	private static String keyFor(final Method testCasesMethod, final CacheTestCases annotation)
+			throws IOException, InvalidParametricTestClassException {
+		final MessageDigest digest = Hashing.newDigest();
+		Hashing.update(digest, testCasesMethod.toGenericString());
+		for (Class<?> type = testCasesMethod.getDeclaringClass(); type != null
+				&& type != Object.class; type = type.getSuperclass()) {
+			if (!Hashing.updateWithBytecode(digest, type)) {
+				return null;
+			}
+		}
+		for (final Class<?> dependency : annotation.dependsOn()) {
+			if (!Hashing.updateWithBytecode(digest, dependency)) {
+				return null;
+			}
+		}
+		for (final String input : annotation.inputs()) {
+			final File inputFile = new File(input);
+			if (!inputFile.isFile()) {
+				throw new InvalidParametricTestClassException(MessageFormat.format(
+						"Input {0} of @CacheTestCases {1}.{2}() does not exist", input,
+						testCasesMethod.getDeclaringClass().getName(), testCasesMethod.getName()));
+			}
+			Hashing.update(digest, "\u0000" + input + "\u0000");
+			Hashing.updateWithContents(digest, inputFile);
+		}
+		return Hashing.hex(digest.digest());
+	}
+
+	/**
+	 * The cached test cases, read from the file each time they are iterated,
+	 * or null when there are none for the current key.
+	 */
+	<T> Iterable<T> load() {
+		if ("true".equals(System.getProperty(REFRESH_PROPERTY)) || !this.file.isFile()) {
+			return null;
+		}
+		try {
+			final DataInputStream input = open();
+			input.close();
+			return new CachedCases<T>();
+		} catch (final IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes every case of {@code testCases} to the file, iterating it only
+	 * once, and returns the cases as they are read back.
+	 */
+	<T> Iterable<T> store(final Iterable<T> testCases) throws IOException {
+		final File body = CacheFiles.newTemporaryFile(this.file);
+		File written = null;
+		try {
+			final Set<String> caseClasses = writeCases(testCases, body);
+			written = CacheFiles.newTemporaryFile(this.file);
+			final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+					new FileOutputStream(written)));
+			try {
+				output.writeInt(MAGIC);
+				output.writeUTF(this.key);
+				output.writeInt(caseClasses.size());
+				for (final String caseClass : caseClasses) {
+					output.writeUTF(caseClass);
+				}
+				output.writeUTF(hashClasses(caseClasses));
+				copy(body, output);
+			} finally {
+				output.close();
+			}
+			CacheFiles.replace(written, this.file);
+			written = null;
+		} finally {
+			body.delete();
+			if (written != null) {
+				written.delete();
+			}
+		}
+		return new CachedCases<T>();
+	}
+
+	private static <T> Set<String> writeCases(final Iterable<T> testCases, final File body)
+			throws IOException {
+		final Set<String> caseClasses = new TreeSet<String>();
+		final ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(
+				new FileOutputStream(body)));
+		try {
+			int count = 0;
+			for (final T testCase : testCases) {
+				output.writeBoolean(true);
+				output.writeObject(testCase);
+				if (testCase != null) {
+					caseClasses.add(testCase.getClass().getName());
+				}
+				if (++count % RESET_INTERVAL == 0) {
+					output.reset();
+				}
+			}
+			output.writeBoolean(false);
+		} finally {
+			output.close();
+		}
+		return caseClasses;
+	}
+
+	private static void copy(final File source, final DataOutputStream output)
+			throws IOException {
+		final InputStream input = new FileInputStream(source);
+		try {
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+		} finally {
+			input.close();
+		}
+	}
+
+	/**
+	 * Opens the file and reads past its header, failing when the header does
+	 * not match the current key or case classes.
+	 */
+	private DataInputStream open() throws IOException {
+		final DataInputStream input = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(this.file)));
+		try {
+			if (input.readInt() != MAGIC || !this.key.equals(input.readUTF())) {
+				throw new IOException("Stale " + this.file);
+			}
+			final Set<String> caseClasses = new TreeSet<String>();
+			for (int i = input.readInt(); i > 0; i--) {
+				caseClasses.add(input.readUTF());
+			}
+			if (!hashClasses(caseClasses).equals(input.readUTF())) {
+				throw new IOException("Stale " + this.file);
+			}
+			return input;
+		} catch (final IOException e) {
+			input.close();
+			throw e;
+		}
+	}
+
+	private String hashClasses(final Set<String> classNames) throws IOException {
+		final MessageDigest digest = Hashing.newDigest();
+		for (final String className : classNames) {
+			Class<?> type;
+			try {
+				type = Class.forName(className, false, this.classLoader);
+			} catch (final ClassNotFoundException e) {
+				throw (IOException) new IOException("Could not load " + className).initCause(e);
+			}
+			while (type.isArray()) {
+				type = type.getComponentType();
+			}
+			Hashing.update(digest, className);
+			if (type.getClassLoader() != null && !Hashing.updateWithBytecode(digest, type)) {
+				throw new IOException("No bytecode for " + className);
+			}
+		}
+		return Hashing.hex(digest.digest());
+	}
+
+	private final class CachedCases<T> implements Iterable<T> {
+
+		public Iterator<T> iterator() {
+			final ObjectInputStream input;
+			try {
+				input = new ObjectInputStream(open()) {
+
+					@Override
+					protected Class<?> resolveClass(final ObjectStreamClass description)
+							throws IOException, ClassNotFoundException {
+						try {
+							return Class.forName(description.getName(), false,
+									CasesCache.this.classLoader);
+						} catch (final ClassNotFoundException e) {
+							return super.resolveClass(description);
+						}
+					}
+				};
+			} catch (final IOException e) {
+				throw unreadable(e);
+			}
+			return new Iterator<T>() {
+
+				private boolean hasNext = readMarker();
+
+				private boolean readMarker() {
+					try {
+						if (input.readBoolean()) {
+							return true;
+						}
+						input.close();
+						return false;
+					} catch (final IOException e) {
+						throw unreadable(e);
+					}
+				}
+
+				public boolean hasNext() {
+					return this.hasNext;
+				}
+
+				public T next() {
+					if (!this.hasNext) {
+						throw new NoSuchElementException();
+					}
+					final Object testCase;
+					try {
+						testCase = input.readObject();
+					} catch (final IOException e) {
+						throw unreadable(e);
+					} catch (final ClassNotFoundException e) {
+						throw unreadable(e);
+					}
+					this.hasNext = readMarker();
+					@SuppressWarnings("unchecked")
+					final T typedTestCase = (T) testCase;
+					return typedTestCase;
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+
+	private IllegalStateException unreadable(final Exception e) {
+		return new IllegalStateException(MessageFormat.format(
+				"Could not read cached test cases from {0}", this.file), e);
+	}
+
+}
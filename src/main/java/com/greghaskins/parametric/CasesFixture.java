@@ -0,0 +1,17 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public, non-static field of a {@link Parametric} test class that is
+ * set, before each test method, to the fixture of the case's group returned
+ * by a {@link BeforeCases} method of a matching type.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface CasesFixture {
+
+}
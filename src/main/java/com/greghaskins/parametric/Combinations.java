@@ -0,0 +1,145 @@
+package com.greghaskins.parametric;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Test cases made by combining one value from each of several dimensions.
+ * By default every combination is produced. {@link #pairwise()} and
+ * {@link #nWise(int)} instead produce a much smaller set in which every
+ * combination of values for any two (or n) dimensions still appears at least
+ * once. Cases are the same, in the same order, on every run.
+ * <p>
+ * Return one from a {@link TestCases} method of a class implementing
+ * {@code ReusableTestCase<Object[]>}; each case is bound as an array with one
+ * value per dimension.
+ */
+public final class Combinations implements IndexedTestCases<Object[]> {
+
+	private final Object[][] dimensions;
+	private final int strength;
+	private final CaseGrid grid;
+	private volatile int[][] rows;
+
+	private Combinations(final Object[][] dimensions, final int strength) {
+		this.dimensions = dimensions;
+		this.strength = strength;
+		this.grid = strength == dimensions.length ? new CaseGrid(sizes(dimensions)) : null;
+	}
+
+	private static int[] sizes(final Object[][] dimensions) {
+		final int[] sizes = new int[dimensions.length];
+		for (int i = 0; i < sizes.length; i++) {
+			sizes[i] = dimensions[i].length;
+		}
+		return sizes;
+	}
+
+	/**
+	 * Every combination of one value from each dimension.
+	 */
+	public static Combinations of(final Object[]... dimensions) {
+		if (dimensions.length == 0) {
+			throw new IllegalArgumentException("At least one dimension is required");
+		}
+		final Object[][] copies = new Object[dimensions.length][];
+		for (int i = 0; i < dimensions.length; i++) {
+			if (dimensions[i].length == 0) {
+				throw new IllegalArgumentException("Dimension " + i + " has no values");
+			}
+			copies[i] = dimensions[i].clone();
+		}
+		return new Combinations(copies, copies.length);
+	}
+
+	/**
+	 * Convenience for writing a dimension inline, as in
+	 * {@code Combinations.of(values(1, 2), values("a", "b"))}.
+	 */
+	public static Object[] values(final Object... values) {
+		return values;
+	}
+
+	public Combinations full() {
+		return new Combinations(this.dimensions, this.dimensions.length);
+	}
+
+	public Combinations pairwise() {
+		return nWise(2);
+	}
+
+	/**
+	 * Only as many cases as it takes to cover every combination of values for
+	 * every {@code strength} dimensions.
+	 */
+	public Combinations nWise(final int strength) {
+		if (strength < 1) {
+			throw new IllegalArgumentException("strength must be at least 1");
+		}
+		return new Combinations(this.dimensions, Math.min(strength, this.dimensions.length));
+	}
+
+	public int dimensions() {
+		return this.dimensions.length;
+	}
+
+	public int size() {
+		return this.grid != null ? this.grid.size() : coveringRows().length;
+	}
+
+	public Object[] get(final int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Test case " + index + " does not exist");
+		}
+		final Object[] caseValues = new Object[this.dimensions.length];
+		if (this.grid != null) {
+			for (int dimension = 0; dimension < this.dimensions.length; dimension++) {
+				caseValues[dimension] = this.dimensions[dimension][this.grid.position(index,
+						dimension)];
+			}
+		} else {
+			final int[] row = coveringRows()[index];
+			for (int dimension = 0; dimension < this.dimensions.length; dimension++) {
+				caseValues[dimension] = this.dimensions[dimension][row[dimension]];
+			}
+		}
+		return caseValues;
+	}
+
+	private int[][] coveringRows() {
+		int[][] coveringRows = this.rows;
+		if (coveringRows == null) {
+			synchronized (this) {
+				coveringRows = this.rows;
+				if (coveringRows == null) {
+					coveringRows = CoveringArray.generate(sizes(this.dimensions), this.strength);
+					this.rows = coveringRows;
+				}
+			}
+		}
+		return coveringRows;
+	}
+
+	public Iterator<Object[]> iterator() {
+		return new Iterator<Object[]>() {
+
+			private int next = 0;
+
+			public boolean hasNext() {
+				return this.next < size();
+			}
+
+			public Object[] next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(this.next++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+}
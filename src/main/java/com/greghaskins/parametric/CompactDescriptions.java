@@ -0,0 +1,29 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Describes each case of a {@link Parametric} test class as a single test,
+ * rather than as a suite with one test per test method, so the test tree
+ * grows with the number of cases alone. The test methods of a case still run
+ * separately, and their failures are reported against the case. Rules see a
+ * description of their own for each test method of each case, named as it
+ * would be without this annotation. Setting the
+ * {@code parametric.compact} system property to {@code true} has the same
+ * effect for every test class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CompactDescriptions {
+
+	/**
+	 * Number of cases grouped under one intermediate suite, so that no suite
+	 * has more children than this. When zero (the default) cases are not
+	 * grouped.
+	 */
+	int bucketSize() default 0;
+
+}
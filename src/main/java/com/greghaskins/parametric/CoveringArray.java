@@ -0,0 +1,228 @@
+package com.greghaskins.parametric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds a covering array: rows of value indices, one per dimension, such that
+ * every combination of values for every {@code strength} dimensions appears
+ * in at least one row. Uses the IPOG strategy, which starts from every
+ * combination of the first {@code strength} dimensions and adds one dimension
+ * at a time, first by choosing its value in the existing rows and then by
+ * adding rows for whatever is still uncovered. The result is small (though
+ * not always minimal) and always the same for the same input.
+ */
+final class CoveringArray {
+
+	private static final int UNASSIGNED = -1;
+
+	private final int[] sizes;
+	private final int dimension;
+	private final int[][] combinations;
+	private final boolean[][] covered;
+
+	private CoveringArray(final int[] sizes, final int strength, final int dimension) {
+		this.sizes = sizes;
+		this.dimension = dimension;
+		final int[][] earlier = dimensionCombinations(dimension, strength - 1);
+		this.combinations = new int[earlier.length][];
+		this.covered = new boolean[earlier.length][];
+		for (int c = 0; c < earlier.length; c++) {
+			this.combinations[c] = new int[strength];
+			System.arraycopy(earlier[c], 0, this.combinations[c], 0, strength - 1);
+			this.combinations[c][strength - 1] = dimension;
+			this.covered[c] = new boolean[tupleCount(sizes, this.combinations[c])];
+		}
+	}
+
+	/**
+	 * @param sizes
+	 *            number of values in each dimension; all positive
+	 * @param strength
+	 *            between 1 and the number of dimensions
+	 */
+	static int[][] generate(final int[] sizes, final int strength) {
+		final List<int[]> rows = initialRows(sizes, strength);
+		for (int dimension = strength; dimension < sizes.length; dimension++) {
+			final CoveringArray growth = new CoveringArray(sizes, strength, dimension);
+			growth.extendRows(rows);
+			growth.addRowsForUncoveredTuples(rows);
+		}
+		for (final int[] row : rows) {
+			for (int i = 0; i < row.length; i++) {
+				if (row[i] == UNASSIGNED) {
+					row[i] = 0;
+				}
+			}
+		}
+		return rows.toArray(new int[rows.size()][]);
+	}
+
+	private static List<int[]> initialRows(final int[] sizes, final int strength) {
+		final int[] firstDimensions = new int[strength];
+		for (int i = 0; i < strength; i++) {
+			firstDimensions[i] = i;
+		}
+		final int count = tupleCount(sizes, firstDimensions);
+		final List<int[]> rows = new ArrayList<int[]>(count);
+		for (int tuple = 0; tuple < count; tuple++) {
+			final int[] row = new int[sizes.length];
+			Arrays.fill(row, UNASSIGNED);
+			assignTuple(sizes, row, firstDimensions, tuple);
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Gives each existing row the value for the new dimension that covers the
+	 * most tuples not covered yet. Rows where no value helps are left
+	 * unassigned, so that uncovered tuples can be placed in them later.
+	 */
+	private void extendRows(final List<int[]> rows) {
+		for (final int[] row : rows) {
+			int best = 0;
+			int bestGain = -1;
+			for (int value = 0; value < this.sizes[this.dimension]; value++) {
+				row[this.dimension] = value;
+				final int gain = uncoveredTuplesIn(row);
+				if (gain > bestGain) {
+					best = value;
+					bestGain = gain;
+				}
+			}
+			if (bestGain > 0) {
+				row[this.dimension] = best;
+				cover(row);
+			} else {
+				row[this.dimension] = UNASSIGNED;
+			}
+		}
+	}
+
+	/**
+	 * Places each tuple that is still uncovered into the first row whose
+	 * values are compatible with it, or into a new row.
+	 */
+	private void addRowsForUncoveredTuples(final List<int[]> rows) {
+		final int[] values = new int[this.sizes.length];
+		for (int c = 0; c < this.combinations.length; c++) {
+			final int[] dimensions = this.combinations[c];
+			for (int tuple = 0; tuple < this.covered[c].length; tuple++) {
+				if (this.covered[c][tuple]) {
+					continue;
+				}
+				assignTuple(this.sizes, values, dimensions, tuple);
+				int[] target = null;
+				for (final int[] row : rows) {
+					if (isCompatible(row, dimensions, values)) {
+						target = row;
+						break;
+					}
+				}
+				if (target == null) {
+					target = new int[this.sizes.length];
+					Arrays.fill(target, UNASSIGNED);
+					rows.add(target);
+				}
+				for (final int dimension : dimensions) {
+					target[dimension] = values[dimension];
+				}
+				cover(target);
+			}
+		}
+	}
+
+	private static boolean isCompatible(final int[] row, final int[] dimensions, final int[] values) {
+		for (final int dimension : dimensions) {
+			if (row[dimension] != UNASSIGNED && row[dimension] != values[dimension]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int uncoveredTuplesIn(final int[] row) {
+		int count = 0;
+		for (int c = 0; c < this.combinations.length; c++) {
+			final int tuple = tupleOf(row, this.combinations[c]);
+			if (tuple != UNASSIGNED && !this.covered[c][tuple]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void cover(final int[] row) {
+		for (int c = 0; c < this.combinations.length; c++) {
+			final int tuple = tupleOf(row, this.combinations[c]);
+			if (tuple != UNASSIGNED) {
+				this.covered[c][tuple] = true;
+			}
+		}
+	}
+
+	/**
+	 * Index of the values {@code row} has for {@code dimensions}, or
+	 * {@link #UNASSIGNED} if any of them is not assigned yet.
+	 */
+	private int tupleOf(final int[] row, final int[] dimensions) {
+		int tuple = 0;
+		for (final int dimension : dimensions) {
+			if (row[dimension] == UNASSIGNED) {
+				return UNASSIGNED;
+			}
+			tuple = tuple * this.sizes[dimension] + row[dimension];
+		}
+		return tuple;
+	}
+
+	private static void assignTuple(final int[] sizes, final int[] row, final int[] dimensions,
+			final int tuple) {
+		int remaining = tuple;
+		for (int i = dimensions.length - 1; i >= 0; i--) {
+			row[dimensions[i]] = remaining % sizes[dimensions[i]];
+			remaining /= sizes[dimensions[i]];
+		}
+	}
+
+	private static int tupleCount(final int[] sizes, final int[] dimensions) {
+		long count = 1;
+		for (final int dimension : dimensions) {
+			count *= sizes[dimension];
+		}
+		if (count > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many value combinations to cover: more than "
+					+ Integer.MAX_VALUE);
+		}
+		return (int) count;
+	}
+
+	/**
+	 * Every way of choosing {@code size} of the first {@code dimensions}
+	 * dimensions, in lexicographic order.
+	 */
+	private static int[][] dimensionCombinations(final int dimensions, final int size) {
+		final List<int[]> combinations = new ArrayList<int[]>();
+		final int[] combination = new int[size];
+		for (int i = 0; i < size; i++) {
+			combination[i] = i;
+		}
+		while (true) {
+			combinations.add(combination.clone());
+			int i = size - 1;
+			while (i >= 0 && combination[i] == dimensions - size + i) {
+				i--;
+			}
+			if (i < 0) {
+				return combinations.toArray(new int[combinations.size()][]);
+			}
+			combination[i]++;
+			for (int j = i + 1; j < size; j++) {
+				combination[j] = combination[j - 1] + 1;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.Annotation;
+import java.text.MessageFormat;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.InitializationError;
+
+final class DescriptionLayout {
+
+	static final String COMPACT_PROPERTY = "parametric.compact";
+
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+	private final int bucketSize;
+
+	DescriptionLayout(final int bucketSize) {
+		this.bucketSize = bucketSize;
+	}
+
+	static DescriptionLayout forTestClass(final Class<?> testClass) throws InitializationError {
+		final CompactDescriptions annotation = testClass.getAnnotation(CompactDescriptions.class);
+		if (annotation == null) {
+			return Boolean.getBoolean(COMPACT_PROPERTY) ? new DescriptionLayout(0) : null;
+		}
+		if (annotation.bucketSize() < 0) {
+			throw new InitializationError(MessageFormat.format(
+					"Invalid bucketSize for {0}: it must not be negative", testClass.getName()));
+		}
+		return new DescriptionLayout(annotation.bucketSize());
+	}
+
+	int getBucketSize() {
+		return this.bucketSize;
+	}
+
+	/**
+	 * A single test standing for every test method of a case.
+	 */
+	static Description describeCase(final Class<?> caseClass, final String name) {
+		return Description.createTestDescription(caseClass, name, NO_ANNOTATIONS);
+	}
+
+	static String caseName(final Description caseDescription) {
+		return caseDescription.getMethodName();
+	}
+
+	/**
+	 * Returns {@code suite}, or a copy with its children grouped into buckets
+	 * of at most {@link #getBucketSize()} when it has more than that.
+	 */
+	Description group(final Description suite) {
+		final List<Description> children = suite.getChildren();
+		if (this.bucketSize == 0 || children.size() <= this.bucketSize) {
+			return suite;
+		}
+		final Description grouped = suite.childlessCopy();
+		for (int from = 0; from < children.size(); from += this.bucketSize) {
+			final int to = Math.min(from + this.bucketSize, children.size());
+			final Description bucket = Description.createSuiteDescription(MessageFormat.format(
+					"{0} [{1,number,#}-{2,number,#}]", suite.getDisplayName(), from + 1, to));
+			for (final Description child : children.subList(from, to)) {
+				bucket.addChild(child);
+			}
+			grouped.addChild(bucket);
+		}
+		return grouped;
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.greghaskins.parametric;
+
+import java.text.MessageFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runners.model.InitializationError;
+
+class EarlyAbort {
+
+	private final int maxFailures;
+	private final double maxFailureRate;
+	private final int sampleSize;
+	private final boolean perTestCasesMethod;
+
+	private final AtomicInteger finishedCases = new AtomicInteger();
+	private final AtomicInteger failedCases = new AtomicInteger();
+	private final AtomicInteger failedCasesInSample = new AtomicInteger();
+	private final AtomicInteger countedSampleCases = new AtomicInteger();
+	private final ConcurrentMap<String, Boolean> failedTestCasesMethods = new ConcurrentHashMap<String, Boolean>();
+	private volatile boolean aborted;
+
+	EarlyAbort(final int maxFailures, final double maxFailureRate, final int sampleSize,
+			final boolean perTestCasesMethod) {
+		this.maxFailures = maxFailures;
+		this.maxFailureRate = maxFailureRate;
+		this.sampleSize = sampleSize;
+		this.perTestCasesMethod = perTestCasesMethod;
+	}
+
+	static EarlyAbort forTestClass(final Class<?> testClass) throws InitializationError {
+		final FailFast annotation = testClass.getAnnotation(FailFast.class);
+		if (annotation == null) {
+			return null;
+		}
+		final boolean sampling = annotation.sampleSize() > 0;
+		if (annotation.maxFailures() < 0 || annotation.sampleSize() < 0
+				|| annotation.maxFailureRate() < 0 || annotation.maxFailureRate() > 1
+				|| sampling != annotation.maxFailureRate() < 1) {
+			throw new InitializationError(MessageFormat.format(
+					"@FailFast on {0} must not have negative values, and must set sampleSize "
+							+ "together with a maxFailureRate below 1", testClass.getName()));
+		}
+		final int maxFailures = annotation.maxFailures() == 0 && !sampling
+				&& !annotation.perTestCasesMethod() ? 1 : annotation.maxFailures();
+		return new EarlyAbort(maxFailures, annotation.maxFailureRate(), annotation.sampleSize(),
+				annotation.perTestCasesMethod());
+	}
+
+	boolean shouldSkip(final String testCasesMethodName) {
+		return this.aborted
+				|| (this.perTestCasesMethod && this.failedTestCasesMethods
+						.containsKey(testCasesMethodName));
+	}
+
+	void caseFinished(final String testCasesMethodName, final boolean failed) {
+		final int finished = this.finishedCases.incrementAndGet();
+		if (failed) {
+			this.failedTestCasesMethods.put(testCasesMethodName, Boolean.TRUE);
+			if (this.maxFailures > 0 && this.failedCases.incrementAndGet() >= this.maxFailures) {
+				this.aborted = true;
+			}
+		}
+		if (this.sampleSize > 0 && finished <= this.sampleSize) {
+			if (failed) {
+				this.failedCasesInSample.incrementAndGet();
+			}
+			// Decided by the last sample case to be counted, not the last to
+			// finish, so that every failure in the sample has been counted.
+			if (this.countedSampleCases.incrementAndGet() == this.sampleSize
+					&& this.failedCasesInSample.get() > this.maxFailureRate * this.sampleSize) {
+				this.aborted = true;
+			}
+		}
+	}
+
+	void reset() {
+		this.finishedCases.set(0);
+		this.failedCases.set(0);
+		this.failedCasesInSample.set(0);
+		this.countedSampleCases.set(0);
+		this.failedTestCasesMethods.clear();
+		this.aborted = false;
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stops running the test cases of a {@link Parametric} test class once enough
+ * of them have failed. Cases that are not run are reported as ignored. Any
+ * combination of the policies below may be used; with none of them, the run
+ * stops after the first failed case.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FailFast {
+
+	/**
+	 * Stop after this many test cases have failed. Zero (the default) means
+	 * no limit, unless no other policy is set.
+	 */
+	int maxFailures() default 0;
+
+	/**
+	 * Stop if more than this fraction of the first {@link #sampleSize()} test
+	 * cases failed. Must be below 1 when a sample size is set.
+	 */
+	double maxFailureRate() default 1.0;
+
+	/**
+	 * Number of test cases to run before checking {@link #maxFailureRate()}.
+	 * With parallel cases, the sample is the first cases to finish, and the
+	 * rate is checked once all of them have finished.
+	 */
+	int sampleSize() default 0;
+
+	/**
+	 * Stop running the cases of a {@link TestCases} method after the first of
+	 * them fails, while still running the cases of other methods.
+	 */
+	boolean perTestCasesMethod() default false;
+
+}
@@ -0,0 +1,19 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Calls the {@code @Test}, {@code @Before} and {@code @After} methods of a
+ * {@link Parametric} test class through invokers generated once per method,
+ * rather than through reflection for every case. Worth it for suites of many
+ * very short cases. Setting the {@code parametric.fastInvocation} system
+ * property to {@code true} has the same effect for every test class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FastInvocation {
+
+}
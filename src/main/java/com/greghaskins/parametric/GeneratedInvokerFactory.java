@@ -0,0 +1,25 @@
+package com.greghaskins.parametric;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Binds invokers through {@code LambdaMetafactory}. Only loaded by name from
+ * {@link Invokers}, so the runner still works on runtimes without
+ * {@code java.lang.invoke}.
+ */
+final class GeneratedInvokerFactory implements Invokers.InvokerFactory {
+
+	public Invokers.Invoker bind(final Method method) throws Throwable {
+		final MethodHandles.Lookup lookup = MethodHandles.lookup();
+		final CallSite site = LambdaMetafactory.metafactory(lookup, "invoke",
+				MethodType.methodType(Invokers.Invoker.class),
+				MethodType.methodType(void.class, Object.class), lookup.unreflect(method),
+				MethodType.methodType(void.class, method.getDeclaringClass()));
+		return (Invokers.Invoker) site.getTarget().invokeWithArguments();
+	}
+
+}
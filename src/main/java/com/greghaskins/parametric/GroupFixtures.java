@@ -0,0 +1,239 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkField;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.TestClass;
+
+final class GroupFixtures {
+
+	private final List<FrameworkMethod> befores;
+	private final List<FrameworkMethod> afters;
+	private final List<FrameworkField> fixtureFields;
+	private volatile Map<String, Group> groups = new HashMap<String, Group>();
+
+	GroupFixtures(final List<FrameworkMethod> befores, final List<FrameworkMethod> afters,
+			final List<FrameworkField> fixtureFields) {
+		this.befores = befores;
+		this.afters = afters;
+		this.fixtureFields = fixtureFields;
+	}
+
+	static GroupFixtures forTestClass(final Class<?> testClass) throws InitializationError {
+		final TestClass metadata = TestClassMetadata.forClass(testClass).getTestClass();
+		final List<FrameworkMethod> befores = metadata.getAnnotatedMethods(BeforeCases.class);
+		final List<FrameworkMethod> afters = metadata.getAnnotatedMethods(AfterCases.class);
+		final List<FrameworkField> fixtureFields = metadata.getAnnotatedFields(CasesFixture.class);
+		if (befores.isEmpty() && afters.isEmpty() && fixtureFields.isEmpty()) {
+			return null;
+		}
+		final List<String> testCasesMethods = new ArrayList<String>();
+		for (final FrameworkMethod testCasesMethod : metadata.getAnnotatedMethods(TestCases.class)) {
+			testCasesMethods.add(testCasesMethod.getName());
+		}
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		for (final FrameworkMethod before : befores) {
+			validateMethod(before, groupsOf(before), 0, testCasesMethods, errors);
+		}
+		for (final FrameworkMethod after : afters) {
+			validateMethod(after, groupsOf(after), 1, testCasesMethods, errors);
+		}
+		for (final FrameworkField field : fixtureFields) {
+			final int modifiers = field.getField().getModifiers();
+			if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers)
+					|| Modifier.isFinal(modifiers)) {
+				errors.add(new Exception(MessageFormat.format(
+						"@CasesFixture field {0} must be public, non-static and non-final",
+						field.getName())));
+			}
+		}
+		if (!errors.isEmpty()) {
+			throw new InitializationError(errors);
+		}
+		return new GroupFixtures(befores, afters, fixtureFields);
+	}
+
+	private static void validateMethod(final FrameworkMethod method, final String[] groups,
+			final int maxParameters, final List<String> testCasesMethods,
+			final List<Throwable> errors) {
+		final Method javaMethod = method.getMethod();
+		if (!Modifier.isPublic(javaMethod.getModifiers())
+				|| !Modifier.isStatic(javaMethod.getModifiers())) {
+			errors.add(new Exception(MessageFormat.format("Method {0}() should be public static",
+					method.getName())));
+		}
+		if (javaMethod.getParameterTypes().length > maxParameters) {
+			errors.add(new Exception(MessageFormat.format(
+					"Method {0}() should have at most {1} parameters", method.getName(),
+					maxParameters)));
+		}
+		for (final String group : groups) {
+			if (!testCasesMethods.contains(group)) {
+				errors.add(new Exception(MessageFormat.format(
+						"Method {0}() names {1}, which is not a @TestCases method",
+						method.getName(), group)));
+			}
+		}
+	}
+
+	private static String[] groupsOf(final FrameworkMethod method) {
+		final BeforeCases before = method.getAnnotation(BeforeCases.class);
+		return before != null ? before.value() : method.getAnnotation(AfterCases.class).value();
+	}
+
+	private static boolean appliesTo(final FrameworkMethod method, final String group) {
+		final String[] groups = groupsOf(method);
+		return groups.length == 0 || Arrays.asList(groups).contains(group);
+	}
+
+	/**
+	 * Starts a run in which each group holds {@code caseCounts} children, its
+	 * fixtures being torn down once that many have finished.
+	 */
+	void reset(final Map<String, Integer> caseCounts) {
+		final Map<String, Group> fresh = new HashMap<String, Group>();
+		for (final Map.Entry<String, Integer> entry : caseCounts.entrySet()) {
+			fresh.put(entry.getKey(), new Group(entry.getKey(), entry.getValue()));
+		}
+		this.groups = fresh;
+	}
+
+	/**
+	 * Wraps a child of the test class, which runs cases of group
+	 * {@code groupName}, to set up the group before it and tear it down after
+	 * the group's last child.
+	 */
+	Runner wrap(final Runner child, final String groupName) {
+		final Group group = this.groups.get(groupName);
+		if (group == null) {
+			return child;
+		}
+		return new Runner() {
+
+			@Override
+			public Description getDescription() {
+				return child.getDescription();
+			}
+
+			@Override
+			public void run(final RunNotifier notifier) {
+				try {
+					final Throwable setupFailure = group.enter();
+					if (setupFailure != null) {
+						notifier.fireTestFailure(new Failure(child.getDescription(), setupFailure));
+					} else {
+						child.run(notifier);
+					}
+				} finally {
+					final Throwable teardownFailure = group.exit();
+					if (teardownFailure != null) {
+						notifier.fireTestFailure(new Failure(child.getDescription(),
+								teardownFailure));
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Sets the {@link CasesFixture} fields of {@code test} from the fixtures
+	 * of its group.
+	 */
+	void inject(final String groupName, final Object test) throws IllegalAccessException {
+		final Group group = this.groups.get(groupName);
+		if (group == null || this.fixtureFields.isEmpty()) {
+			return;
+		}
+		for (final FrameworkField fixtureField : this.fixtureFields) {
+			final Field field = fixtureField.getField();
+			final Object fixture = group.fixtureOfType(field.getType());
+			if (fixture != null) {
+				field.set(test, fixture);
+			}
+		}
+	}
+
+	private final class Group {
+
+		private final String name;
+		private final List<Object> fixtures = new ArrayList<Object>();
+		private int remaining;
+		private boolean started;
+		private Throwable setupFailure;
+
+		Group(final String name, final int remaining) {
+			this.name = name;
+			this.remaining = remaining;
+		}
+
+		synchronized Throwable enter() {
+			if (!this.started) {
+				this.started = true;
+				try {
+					for (final FrameworkMethod before : GroupFixtures.this.befores) {
+						if (appliesTo(before, this.name)) {
+							final Object fixture = before.invokeExplosively(null);
+							if (fixture != null) {
+								this.fixtures.add(fixture);
+							}
+						}
+					}
+				} catch (final Throwable e) {
+					this.setupFailure = e;
+				}
+			}
+			return this.setupFailure;
+		}
+
+		synchronized Throwable exit() {
+			if (--this.remaining > 0 || !this.started) {
+				return null;
+			}
+			final List<Throwable> errors = new ArrayList<Throwable>();
+			for (final FrameworkMethod after : GroupFixtures.this.afters) {
+				if (appliesTo(after, this.name)) {
+					try {
+						final Class<?>[] parameterTypes = after.getMethod().getParameterTypes();
+						if (parameterTypes.length == 0) {
+							after.invokeExplosively(null);
+						} else {
+							after.invokeExplosively(null, fixtureOfType(parameterTypes[0]));
+						}
+					} catch (final Throwable e) {
+						errors.add(e);
+					}
+				}
+			}
+			this.fixtures.clear();
+			if (errors.isEmpty()) {
+				return null;
+			}
+			return errors.size() == 1 ? errors.get(0) : new MultipleFailureException(errors);
+		}
+
+		synchronized Object fixtureOfType(final Class<?> type) {
+			for (final Object fixture : this.fixtures) {
+				if (type.isInstance(fixture)) {
+					return fixture;
+				}
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.greghaskins.parametric;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+final class Hashing {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private Hashing() {
+	}
+
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static String hash(final String value) {
+		final MessageDigest digest = newDigest();
+		update(digest, value);
+		return hex(digest.digest());
+	}
+
+	static void update(final MessageDigest digest, final String value) {
+		try {
+			digest.update(value.getBytes("UTF-8"));
+		} catch (final UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static boolean updateWithBytecode(final MessageDigest digest, final Class<?> javaClass)
+			throws IOException {
+		final String resourceName = javaClass.getName().replace('.', '/') + ".class";
+		final ClassLoader classLoader = javaClass.getClassLoader() != null ? javaClass
+				.getClassLoader() : ClassLoader.getSystemClassLoader();
+		final InputStream input = classLoader.getResourceAsStream(resourceName);
+		if (input == null) {
+			return false;
+		}
+		update(digest, input);
+		return true;
+	}
+
+	static void updateWithContents(final MessageDigest digest, final File file)
+			throws IOException {
+		update(digest, new FileInputStream(file));
+	}
+
+	private static void update(final MessageDigest digest, final InputStream input)
+			throws IOException {
+		try {
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		} finally {
+			input.close();
+		}
+	}
+
+	static String hex(final byte[] bytes) {
+		final char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+		return new String(chars);
+	}
+
+}
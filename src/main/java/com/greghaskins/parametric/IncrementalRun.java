@@ -0,0 +1,32 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Skips test methods that passed on an earlier run for the same test case,
+ * reporting them as ignored. Passing results are kept in a local directory
+ * and are discarded whenever the bytecode of the test class, or of a class
+ * listed in {@link #dependsOn()}, changes. Setting the
+ * {@code parametric.incremental} system property to {@code false} runs every
+ * case.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IncrementalRun {
+
+	/**
+	 * Directory holding the results. The {@code parametric.incremental.dir}
+	 * system property takes precedence.
+	 */
+	String directory() default ".parametric-cache";
+
+	/**
+	 * Classes under test whose changes should also cause every case to run
+	 * again.
+	 */
+	Class<?>[] dependsOn() default {};
+
+}
@@ -0,0 +1,13 @@
+package com.greghaskins.parametric;
+
+/**
+ * Test cases that can be produced one at a time by position. {@link Parametric}
+ * streams these, creating each case only when it is about to run.
+ */
+interface IndexedTestCases<T> extends Iterable<T> {
+
+	int size();
+
+	T get(int index);
+
+}
@@ -0,0 +1,85 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.text.MessageFormat;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.runners.model.InitializationError;
+
+class InstancePool {
+
+	private final Constructor<?> constructor;
+	private final ConcurrentLinkedQueue<ReusableTestCase<Object>> idle = new ConcurrentLinkedQueue<ReusableTestCase<Object>>();
+
+	private InstancePool(final Constructor<?> constructor) {
+		this.constructor = constructor;
+	}
+
+	static InstancePool forTestClass(final Class<?> testClass) throws InitializationError {
+		if (!ReusableTestCase.class.isAssignableFrom(testClass)) {
+			return null;
+		}
+		final Constructor<?> constructor;
+		try {
+			constructor = testClass.getConstructor();
+		} catch (final NoSuchMethodException e) {
+			throw missingConstructorException(testClass);
+		}
+		if (Modifier.isAbstract(testClass.getModifiers())) {
+			throw missingConstructorException(testClass);
+		}
+		return new InstancePool(constructor);
+	}
+
+	private static InvalidParametricTestClassException missingConstructorException(
+			final Class<?> testClass) {
+		return new InvalidParametricTestClassException(MessageFormat.format(
+				"{0} implements ReusableTestCase, so it must be a concrete class "
+						+ "with a public no-argument constructor", testClass.getName()));
+	}
+
+	/**
+	 * The type of parameter object that {@code testClass} binds, or null if it
+	 * is not a {@link ReusableTestCase}.
+	 */
+	static Type parameterType(final Class<?> testClass) {
+		for (Class<?> type = testClass; type != null; type = type.getSuperclass()) {
+			for (final Type implemented : type.getGenericInterfaces()) {
+				if (implemented instanceof ParameterizedType
+						&& ((ParameterizedType) implemented).getRawType() == ReusableTestCase.class) {
+					return ((ParameterizedType) implemented).getActualTypeArguments()[0];
+				}
+			}
+		}
+		return null;
+	}
+
+	ReusableTestCase<Object> borrow(final Object parameters) throws Exception {
+		ReusableTestCase<Object> instance = this.idle.poll();
+		if (instance == null) {
+			@SuppressWarnings("unchecked")
+			final ReusableTestCase<Object> created = (ReusableTestCase<Object>) this.constructor
+					.newInstance();
+			instance = created;
+		}
+		try {
+			instance.bind(parameters);
+		} catch (final Exception e) {
+			release(instance);
+			throw e;
+		}
+		return instance;
+	}
+
+	void release(final ReusableTestCase<Object> instance) {
+		this.idle.offer(instance);
+	}
+
+	void clear() {
+		this.idle.clear();
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.greghaskins.parametric;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Test cases made of {@code int} values, such as a range or the cartesian
+ * product of several ranges, generated on demand without boxing. Return one
+ * from a {@link TestCases} method of a class implementing
+ * {@code ReusableTestCase<int[]>}; each case is bound as an array with one
+ * value per dimension, and the last dimension varies fastest.
+ */
+public final class IntCases implements IndexedTestCases<int[]> {
+
+	private final int[] starts;
+	private final int[][] values;
+	private final CaseGrid grid;
+
+	private IntCases(final int[] starts, final int[] sizes, final int[][] values) {
+		this.starts = starts;
+		this.values = values;
+		this.grid = new CaseGrid(sizes);
+	}
+
+	/**
+	 * Every {@code int} from {@code startInclusive} up to, but not including,
+	 * {@code endExclusive}.
+	 */
+	public static IntCases range(final int startInclusive, final int endExclusive) {
+		return new IntCases(new int[] { startInclusive }, new int[] { CaseGrid.rangeSize(
+				startInclusive, endExclusive) }, new int[1][]);
+	}
+
+	public static IntCases rangeClosed(final int startInclusive, final int endInclusive) {
+		return new IntCases(new int[] { startInclusive }, new int[] { CaseGrid.closedRangeSize(
+				startInclusive, endInclusive) }, new int[1][]);
+	}
+
+	public static IntCases of(final int... values) {
+		return new IntCases(new int[1], new int[] { values.length },
+				new int[][] { values.clone() });
+	}
+
+	/**
+	 * Every combination of one case from each of {@code factors}.
+	 */
+	public static IntCases product(final IntCases... factors) {
+		int dimensions = 0;
+		for (final IntCases factor : factors) {
+			dimensions += factor.dimensions();
+		}
+		final int[] starts = new int[dimensions];
+		final int[] sizes = new int[dimensions];
+		final int[][] values = new int[dimensions][];
+		int next = 0;
+		for (final IntCases factor : factors) {
+			System.arraycopy(factor.starts, 0, starts, next, factor.dimensions());
+			System.arraycopy(factor.values, 0, values, next, factor.dimensions());
+			for (int dimension = 0; dimension < factor.dimensions(); dimension++) {
+				sizes[next++] = factor.grid.size(dimension);
+			}
+		}
+		return new IntCases(starts, sizes, values);
+	}
+
+	public int dimensions() {
+		return this.grid.dimensions();
+	}
+
+	public int size() {
+		return this.grid.size();
+	}
+
+	public int[] get(final int index) {
+		this.grid.checkIndex(index);
+		final int[] caseValues = new int[this.grid.dimensions()];
+		for (int dimension = 0; dimension < caseValues.length; dimension++) {
+			final int position = this.grid.position(index, dimension);
+			caseValues[dimension] = this.values[dimension] != null
+					? this.values[dimension][position] : this.starts[dimension] + position;
+		}
+		return caseValues;
+	}
+
+	public Iterator<int[]> iterator() {
+		return new Iterator<int[]>() {
+
+			private int next = 0;
+
+			public boolean hasNext() {
+				return this.next < size();
+			}
+
+			public int[] next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(this.next++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+}
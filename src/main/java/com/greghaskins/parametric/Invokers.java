@@ -0,0 +1,184 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+
+/**
+ * The invokers of one test class, bound on first use and shared by every case
+ * of the class. Only loaded for classes that use {@link FastInvocation}.
+ */
+final class Invokers {
+
+	static final String PROPERTY = "parametric.fastInvocation";
+
+	private static final String GENERATED_FACTORY = "com.greghaskins.parametric.GeneratedInvokerFactory";
+
+	private static final InvokerFactory GENERATED = loadGeneratedFactory();
+
+	private final ConcurrentMap<Method, Invoker> invokers = new ConcurrentHashMap<Method, Invoker>();
+
+	Invokers() {
+	}
+
+	interface Invoker {
+
+		void invoke(Object target) throws Throwable;
+
+	}
+
+	/**
+	 * Generates invokers calling methods directly, which needs a Java 8 or
+	 * later runtime.
+	 */
+	interface InvokerFactory {
+
+		Invoker bind(Method method) throws Throwable;
+
+	}
+
+	/**
+	 * The generated-invoker factory, or {@code null} when the runtime cannot
+	 * load it.
+	 */
+	private static InvokerFactory loadGeneratedFactory() {
+		try {
+			return (InvokerFactory) Class.forName(GENERATED_FACTORY).newInstance();
+		} catch (final Exception e) {
+			return null;
+		} catch (final LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The invoker of {@code method}, bound on first use and shared by every
+	 * case.
+	 */
+	Invoker invokerFor(final FrameworkMethod method) {
+		final Invoker existing = this.invokers.get(method.getMethod());
+		if (existing != null) {
+			return existing;
+		}
+		final Invoker created = bind(method);
+		final Invoker raced = this.invokers.putIfAbsent(method.getMethod(), created);
+		return raced != null ? raced : created;
+	}
+
+	/**
+	 * Generates a class calling {@code method} directly. Methods that cannot
+	 * be called that way, because they are static, take parameters, or are not
+	 * visible from this class, or because the runtime is older than Java 8,
+	 * are called reflectively as JUnit would.
+	 */
+	private static Invoker bind(final FrameworkMethod frameworkMethod) {
+		final Method method = frameworkMethod.getMethod();
+		final Class<?> declaringClass = method.getDeclaringClass();
+		if (GENERATED == null || Modifier.isStatic(method.getModifiers())
+				|| method.getParameterTypes().length > 0
+				|| !Modifier.isPublic(method.getModifiers())
+				|| !Modifier.isPublic(declaringClass.getModifiers()) || !isVisible(declaringClass)) {
+			return new ReflectiveInvoker(frameworkMethod);
+		}
+		try {
+			return GENERATED.bind(method);
+		} catch (final Throwable e) {
+			return new ReflectiveInvoker(frameworkMethod);
+		}
+	}
+
+	private static boolean isVisible(final Class<?> type) {
+		try {
+			return Class.forName(type.getName(), false, Invokers.class.getClassLoader()) == type;
+		} catch (final ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private List<Invoker> invokersFor(final List<FrameworkMethod> methods) {
+		final List<Invoker> bound = new ArrayList<Invoker>(methods.size());
+		for (final FrameworkMethod method : methods) {
+			bound.add(invokerFor(method));
+		}
+		return bound;
+	}
+
+	Statement invoke(final FrameworkMethod method, final Object target) {
+		final Invoker invoker = invokerFor(method);
+		return new Statement() {
+
+			@Override
+			public void evaluate() throws Throwable {
+				invoker.invoke(target);
+			}
+		};
+	}
+
+	Statement withBefores(final List<FrameworkMethod> befores, final Object target,
+			final Statement statement) {
+		if (befores.isEmpty()) {
+			return statement;
+		}
+		final List<Invoker> beforeInvokers = invokersFor(befores);
+		return new Statement() {
+
+			@Override
+			public void evaluate() throws Throwable {
+				for (final Invoker before : beforeInvokers) {
+					before.invoke(target);
+				}
+				statement.evaluate();
+			}
+		};
+	}
+
+	Statement withAfters(final List<FrameworkMethod> afters, final Object target,
+			final Statement statement) {
+		if (afters.isEmpty()) {
+			return statement;
+		}
+		final List<Invoker> afterInvokers = invokersFor(afters);
+		return new Statement() {
+
+			@Override
+			public void evaluate() throws Throwable {
+				final List<Throwable> errors = new ArrayList<Throwable>();
+				try {
+					statement.evaluate();
+				} catch (final Throwable e) {
+					errors.add(e);
+				} finally {
+					for (final Invoker after : afterInvokers) {
+						try {
+							after.invoke(target);
+						} catch (final Throwable e) {
+							errors.add(e);
+						}
+					}
+				}
+				MultipleFailureException.assertEmpty(errors);
+			}
+		};
+	}
+
+	private static class ReflectiveInvoker implements Invoker {
+
+		private final FrameworkMethod method;
+
+		ReflectiveInvoker(final FrameworkMethod method) {
+			this.method = method;
+		}
+
+		public void invoke(final Object target) throws Throwable {
+			this.method.invokeExplosively(target);
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.greghaskins.parametric;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Test cases made of {@code long} values, such as a range or the cartesian
+ * product of several ranges, generated on demand without boxing. Return one
+ * from a {@link TestCases} method of a class implementing
+ * {@code ReusableTestCase<long[]>}; each case is bound as an array with one
+ * value per dimension, and the last dimension varies fastest.
+ */
+public final class LongCases implements IndexedTestCases<long[]> {
+
+	private final long[] starts;
+	private final long[][] values;
+	private final CaseGrid grid;
+
+	private LongCases(final long[] starts, final int[] sizes, final long[][] values) {
+		this.starts = starts;
+		this.values = values;
+		this.grid = new CaseGrid(sizes);
+	}
+
+	/**
+	 * Every {@code long} from {@code startInclusive} up to, but not including,
+	 * {@code endExclusive}.
+	 */
+	public static LongCases range(final long startInclusive, final long endExclusive) {
+		return new LongCases(new long[] { startInclusive }, new int[] { CaseGrid.rangeSize(
+				startInclusive, endExclusive) }, new long[1][]);
+	}
+
+	public static LongCases rangeClosed(final long startInclusive, final long endInclusive) {
+		return new LongCases(new long[] { startInclusive }, new int[] { CaseGrid.closedRangeSize(
+				startInclusive, endInclusive) }, new long[1][]);
+	}
+
+	public static LongCases of(final long... values) {
+		return new LongCases(new long[1], new int[] { values.length },
+				new long[][] { values.clone() });
+	}
+
+	/**
+	 * Every combination of one case from each of {@code factors}.
+	 */
+	public static LongCases product(final LongCases... factors) {
+		int dimensions = 0;
+		for (final LongCases factor : factors) {
+			dimensions += factor.dimensions();
+		}
+		final long[] starts = new long[dimensions];
+		final int[] sizes = new int[dimensions];
+		final long[][] values = new long[dimensions][];
+		int next = 0;
+		for (final LongCases factor : factors) {
+			System.arraycopy(factor.starts, 0, starts, next, factor.dimensions());
+			System.arraycopy(factor.values, 0, values, next, factor.dimensions());
+			for (int dimension = 0; dimension < factor.dimensions(); dimension++) {
+				sizes[next++] = factor.grid.size(dimension);
+			}
+		}
+		return new LongCases(starts, sizes, values);
+	}
+
+	public int dimensions() {
+		return this.grid.dimensions();
+	}
+
+	public int size() {
+		return this.grid.size();
+	}
+
+	public long[] get(final int index) {
+		this.grid.checkIndex(index);
+		final long[] caseValues = new long[this.grid.dimensions()];
+		for (int dimension = 0; dimension < caseValues.length; dimension++) {
+			final int position = this.grid.position(index, dimension);
+			caseValues[dimension] = this.values[dimension] != null
+					? this.values[dimension][position] : this.starts[dimension] + position;
+		}
+		return caseValues;
+	}
+
+	public Iterator<long[]> iterator() {
+		return new Iterator<long[]>() {
+
+			private int next = 0;
+
+			public boolean hasNext() {
+				return this.next < size();
+			}
+
+			public long[] next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(this.next++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+}
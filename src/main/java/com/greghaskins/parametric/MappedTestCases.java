@@ -0,0 +1,236 @@
+package com.greghaskins.parametric;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Test cases read from a memory-mapped file of records. Only the offset of
+ * each record is held on the heap; a record is decoded into a test case when
+ * it is needed. Return one from a {@link TestCases} method and its cases are
+ * streamed, as with {@link TestCases#streaming()}.
+ */
+public final class MappedTestCases<T> implements IndexedTestCases<T> {
+
+	static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+	private final File file;
+	private final RecordDecoder<T> decoder;
+	private final ByteBuffer[] segments;
+	private final long[] segmentStarts;
+	private final long[] recordStarts;
+	private final int recordLength;
+	private final long fileSize;
+	private final int size;
+
+	private MappedTestCases(final File file, final RecordDecoder<T> decoder,
+			final List<ByteBuffer> segments, final List<Long> segmentStarts,
+			final long[] recordStarts, final int recordLength, final long fileSize, final int size) {
+		this.file = file;
+		this.decoder = decoder;
+		this.segments = segments.toArray(new ByteBuffer[segments.size()]);
+		this.segmentStarts = new long[segmentStarts.size()];
+		for (int i = 0; i < this.segmentStarts.length; i++) {
+			this.segmentStarts[i] = segmentStarts.get(i);
+		}
+		this.recordStarts = recordStarts;
+		this.recordLength = recordLength;
+		this.fileSize = fileSize;
+		this.size = size;
+	}
+
+	/**
+	 * One record per line, such as a CSV file without a header. Lines may end
+	 * in either {@code \n} or {@code \r\n}.
+	 */
+	public static <T> MappedTestCases<T> lines(final File file, final RecordDecoder<T> decoder)
+			throws IOException {
+		return lines(file, decoder, MAX_SEGMENT_SIZE);
+	}
+
+	static <T> MappedTestCases<T> lines(final File file, final RecordDecoder<T> decoder,
+			final long maxSegmentSize) throws IOException {
+		final RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			final FileChannel channel = input.getChannel();
+			final long fileSize = channel.size();
+			final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+			final List<Long> segmentStarts = new ArrayList<Long>();
+			long[] recordStarts = new long[16];
+			int size = 0;
+
+			long segmentStart = 0;
+			while (segmentStart < fileSize) {
+				final int length = (int) Math.min(maxSegmentSize, fileSize - segmentStart);
+				final ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart,
+						length);
+				final boolean lastSegment = segmentStart + length == fileSize;
+				int recordStart = 0;
+				for (int i = 0; i < length; i++) {
+					if (segment.get(i) == '\n') {
+						if (size == recordStarts.length) {
+							recordStarts = copyOf(recordStarts, size * 2);
+						}
+						recordStarts[size++] = segmentStart + recordStart;
+						recordStart = i + 1;
+					}
+				}
+				if (lastSegment && recordStart < length) {
+					if (size == recordStarts.length) {
+						recordStarts = copyOf(recordStarts, size + 1);
+					}
+					recordStarts[size++] = segmentStart + recordStart;
+					recordStart = length;
+				}
+				if (recordStart == 0) {
+					throw new IOException(MessageFormat.format(
+							"{0} has a record longer than {1} bytes", file, maxSegmentSize));
+				}
+				segment.limit(recordStart);
+				segments.add(segment);
+				segmentStarts.add(segmentStart);
+				segmentStart += recordStart;
+			}
+			return new MappedTestCases<T>(file, decoder, segments, segmentStarts, copyOf(
+					recordStarts, size), 0, fileSize, size);
+		} finally {
+			input.close();
+		}
+	}
+
+	private static long[] copyOf(final long[] values, final int length) {
+		final long[] copy = new long[length];
+		System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+		return copy;
+	}
+
+	/**
+	 * Records of {@code recordLength} bytes each, one after another.
+	 */
+	public static <T> MappedTestCases<T> fixedLength(final File file, final int recordLength,
+			final RecordDecoder<T> decoder) throws IOException {
+		return fixedLength(file, recordLength, decoder, MAX_SEGMENT_SIZE);
+	}
+
+	static <T> MappedTestCases<T> fixedLength(final File file, final int recordLength,
+			final RecordDecoder<T> decoder, final long maxSegmentSize) throws IOException {
+		if (recordLength <= 0) {
+			throw new IllegalArgumentException("recordLength must be positive");
+		}
+		final RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			final FileChannel channel = input.getChannel();
+			final long fileSize = channel.size();
+			if (fileSize % recordLength != 0) {
+				throw new IOException(MessageFormat.format(
+						"{0} is not a whole number of {1}-byte records", file, recordLength));
+			}
+			final long count = fileSize / recordLength;
+			if (count > Integer.MAX_VALUE) {
+				throw new IOException(MessageFormat.format("{0} has more than {1} records", file,
+						Integer.MAX_VALUE));
+			}
+			final long segmentSize = Math.max(1, maxSegmentSize / recordLength) * recordLength;
+			final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+			final List<Long> segmentStarts = new ArrayList<Long>();
+			for (long segmentStart = 0; segmentStart < fileSize; segmentStart += segmentSize) {
+				segments.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart,
+						Math.min(segmentSize, fileSize - segmentStart)));
+				segmentStarts.add(segmentStart);
+			}
+			return new MappedTestCases<T>(file, decoder, segments, segmentStarts, null,
+					recordLength, fileSize, (int) count);
+		} finally {
+			input.close();
+		}
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Decodes the record at {@code index}. A decoder failure is rethrown as an
+	 * {@link IllegalStateException}.
+	 */
+	public T get(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException(MessageFormat.format(
+					"Record {0} of {1} does not exist", index, this.file));
+		}
+		final long start = recordStart(index);
+		final long end = recordEnd(index, start);
+		final int segment = segmentContaining(start);
+		final ByteBuffer record = this.segments[segment].duplicate();
+		record.limit((int) (end - this.segmentStarts[segment]));
+		record.position((int) (start - this.segmentStarts[segment]));
+		try {
+			return this.decoder.decode(record.slice());
+		} catch (final Exception e) {
+			throw new IllegalStateException(MessageFormat.format(
+					"Could not decode record {0} of {1}", index, this.file), e);
+		}
+	}
+
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			private int next = 0;
+
+			public boolean hasNext() {
+				return this.next < MappedTestCases.this.size;
+			}
+
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(this.next++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private long recordStart(final int index) {
+		if (this.recordStarts == null) {
+			return (long) index * this.recordLength;
+		}
+		return this.recordStarts[index];
+	}
+
+	private long recordEnd(final int index, final long start) {
+		if (this.recordStarts == null) {
+			return start + this.recordLength;
+		}
+		long end = index + 1 < this.size ? this.recordStarts[index + 1] : this.fileSize;
+		if (end > start && byteAt(end - 1) == '\n') {
+			end--;
+		}
+		if (end > start && byteAt(end - 1) == '\r') {
+			end--;
+		}
+		return end;
+	}
+
+	private byte byteAt(final long position) {
+		final int segment = segmentContaining(position);
+		return this.segments[segment].get((int) (position - this.segmentStarts[segment]));
+	}
+
+	private int segmentContaining(final long position) {
+		final int found = Arrays.binarySearch(this.segmentStarts, position);
+		return found >= 0 ? found : -found - 2;
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.greghaskins.parametric;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * Which of JUnit's statement decorators apply to one test method, worked out
+ * once per test class rather than for every case.
+ */
+final class MethodPlan {
+
+	private final Class<? extends Throwable> expectedException;
+	private final long timeout;
+	private final List<FrameworkMethod> befores;
+	private final List<FrameworkMethod> afters;
+	private final boolean hasRules;
+
+	private MethodPlan(final Class<? extends Throwable> expectedException, final long timeout,
+			final List<FrameworkMethod> befores, final List<FrameworkMethod> afters,
+			final boolean hasRules) {
+		this.expectedException = expectedException;
+		this.timeout = timeout;
+		this.befores = befores;
+		this.afters = afters;
+		this.hasRules = hasRules;
+	}
+
+	static MethodPlan forMethod(final TestClass testClass, final FrameworkMethod method) {
+		final Test annotation = method.getAnnotation(Test.class);
+		final Class<? extends Throwable> expected = annotation == null
+				|| annotation.expected() == Test.None.class ? null : annotation.expected();
+		final long timeout = annotation == null ? 0 : annotation.timeout();
+		final boolean hasRules = !testClass.getAnnotatedFields(Rule.class).isEmpty()
+				|| !testClass.getAnnotatedMethods(Rule.class).isEmpty();
+		return new MethodPlan(expected, timeout, testClass.getAnnotatedMethods(Before.class),
+				testClass.getAnnotatedMethods(After.class), hasRules);
+	}
+
+	/**
+	 * The exception the method is expected to throw, or {@code null}.
+	 */
+	Class<? extends Throwable> getExpectedException() {
+		return this.expectedException;
+	}
+
+	/**
+	 * The timeout of the method in milliseconds, or 0 for none.
+	 */
+	long getTimeout() {
+		return this.timeout;
+	}
+
+	List<FrameworkMethod> getBefores() {
+		return this.befores;
+	}
+
+	List<FrameworkMethod> getAfters() {
+		return this.afters;
+	}
+
+	/**
+	 * Whether the test class has {@code @Rule} fields or methods, whose values
+	 * must be read from each case.
+	 */
+	boolean hasRules() {
+		return this.hasRules;
+	}
+
+}
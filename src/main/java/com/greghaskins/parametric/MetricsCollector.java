@@ -0,0 +1,161 @@
+package com.greghaskins.parametric;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runners.model.InitializationError;
+
+class MetricsCollector {
+
+	static final String FILE_PROPERTY = "parametric.metrics.file";
+
+	private final List<MetricsListener> listeners;
+	private final File file;
+	private final Map<String, CaseSamples> samplesByTestCasesMethod = new LinkedHashMap<String, CaseSamples>();
+	private PrintWriter writer;
+	private IOException writeFailure;
+
+	MetricsCollector(final List<MetricsListener> listeners, final File file) {
+		this.listeners = listeners;
+		this.file = file;
+	}
+
+	static MetricsCollector forTestClass(final Class<?> testClass) throws InitializationError {
+		final RecordMetrics annotation = testClass.getAnnotation(RecordMetrics.class);
+		final String fileProperty = System.getProperty(FILE_PROPERTY);
+		if (annotation == null && fileProperty == null) {
+			return null;
+		}
+
+		final List<MetricsListener> listeners = new ArrayList<MetricsListener>();
+		File file = fileProperty != null ? new File(fileProperty) : null;
+		if (annotation != null) {
+			for (final Class<? extends MetricsListener> listenerClass : annotation.listeners()) {
+				listeners.add(instantiateListener(testClass, listenerClass));
+			}
+			if (file == null && annotation.file().length() > 0) {
+				file = new File(annotation.file());
+			}
+		}
+		return new MetricsCollector(listeners, file);
+	}
+
+	private static MetricsListener instantiateListener(final Class<?> testClass,
+			final Class<? extends MetricsListener> listenerClass)
+			throws InvalidParametricTestClassException {
+		try {
+			return listenerClass.newInstance();
+		} catch (final Exception e) {
+			throw new InvalidParametricTestClassException(MessageFormat.format(
+					"@RecordMetrics listener {0} on {1} must have a public no-argument constructor",
+					listenerClass.getName(), testClass.getName()));
+		}
+	}
+
+	synchronized void record(final TestMetrics metrics) {
+		if (metrics.getMethodName() == null) {
+			samplesFor(metrics.getTestCasesMethodName()).add(metrics);
+		}
+		for (final MetricsListener listener : this.listeners) {
+			listener.testMeasured(metrics);
+		}
+		write(metrics.toString());
+	}
+
+	private CaseSamples samplesFor(final String testCasesMethodName) {
+		CaseSamples samples = this.samplesByTestCasesMethod.get(testCasesMethodName);
+		if (samples == null) {
+			samples = new CaseSamples();
+			this.samplesByTestCasesMethod.put(testCasesMethodName, samples);
+		}
+		return samples;
+	}
+
+	synchronized void finish() throws IOException {
+		try {
+			for (final Map.Entry<String, CaseSamples> entry : this.samplesByTestCasesMethod
+					.entrySet()) {
+				final MetricsSummary summary = entry.getValue().summarize(entry.getKey());
+				for (final MetricsListener listener : this.listeners) {
+					listener.testCasesSummarized(summary);
+				}
+				write(summary.toString());
+			}
+		} finally {
+			this.samplesByTestCasesMethod.clear();
+			if (this.writer != null) {
+				this.writer.close();
+				if (this.writer.checkError() && this.writeFailure == null) {
+					this.writeFailure = new IOException("Could not write to " + this.file);
+				}
+				this.writer = null;
+			}
+		}
+		if (this.writeFailure != null) {
+			final IOException failure = this.writeFailure;
+			this.writeFailure = null;
+			throw failure;
+		}
+	}
+
+	private void write(final String line) {
+		if (this.file == null || this.writeFailure != null) {
+			return;
+		}
+		if (this.writer == null) {
+			try {
+				this.writer = new PrintWriter(new FileWriter(this.file, true));
+			} catch (final IOException e) {
+				this.writeFailure = e;
+				return;
+			}
+		}
+		this.writer.println(line);
+	}
+
+	private static class CaseSamples {
+
+		private long[] wallNanos = new long[16];
+		private long[] cpuNanos = new long[16];
+		private long[] allocatedBytes = new long[16];
+		private int size;
+
+		void add(final TestMetrics metrics) {
+			if (this.size == this.wallNanos.length) {
+				this.wallNanos = copyOf(this.wallNanos, this.size * 2);
+				this.cpuNanos = copyOf(this.cpuNanos, this.size * 2);
+				this.allocatedBytes = copyOf(this.allocatedBytes, this.size * 2);
+			}
+			this.wallNanos[this.size] = metrics.getWallNanos();
+			this.cpuNanos[this.size] = metrics.getCpuNanos();
+			this.allocatedBytes[this.size] = metrics.getAllocatedBytes();
+			this.size++;
+		}
+
+		MetricsSummary summarize(final String testCasesMethodName) {
+			return new MetricsSummary(testCasesMethodName, this.size, distribution(this.wallNanos),
+					distribution(this.cpuNanos), distribution(this.allocatedBytes));
+		}
+
+		private MetricsSummary.Distribution distribution(final long[] values) {
+			final long[] sorted = copyOf(values, this.size);
+			Arrays.sort(sorted);
+			return new MetricsSummary.Distribution(sorted);
+		}
+
+		private static long[] copyOf(final long[] values, final int length) {
+			final long[] copy = new long[length];
+			System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+			return copy;
+		}
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.greghaskins.parametric;
+
+/**
+ * Receives measurements taken for a {@link RecordMetrics} test class. Methods
+ * may be called from worker threads, but never concurrently.
+ */
+public interface MetricsListener {
+
+	void testMeasured(TestMetrics metrics);
+
+	void testCasesSummarized(MetricsSummary summary);
+
+}
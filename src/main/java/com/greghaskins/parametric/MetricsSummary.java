@@ -0,0 +1,97 @@
+package com.greghaskins.parametric;
+
+/**
+ * Percentiles of the per-case measurements of one {@link TestCases} method.
+ */
+public final class MetricsSummary {
+
+	private final String testCasesMethodName;
+	private final int caseCount;
+	private final Distribution wallNanos;
+	private final Distribution cpuNanos;
+	private final Distribution allocatedBytes;
+
+	MetricsSummary(final String testCasesMethodName, final int caseCount,
+			final Distribution wallNanos, final Distribution cpuNanos,
+			final Distribution allocatedBytes) {
+		this.testCasesMethodName = testCasesMethodName;
+		this.caseCount = caseCount;
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public String getTestCasesMethodName() {
+		return this.testCasesMethodName;
+	}
+
+	public int getCaseCount() {
+		return this.caseCount;
+	}
+
+	public Distribution getWallNanos() {
+		return this.wallNanos;
+	}
+
+	public Distribution getCpuNanos() {
+		return this.cpuNanos;
+	}
+
+	public Distribution getAllocatedBytes() {
+		return this.allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "{\"type\":\"summary\",\"testCases\":" + Json.quote(this.testCasesMethodName)
+				+ ",\"cases\":" + this.caseCount + ",\"wallNanos\":" + this.wallNanos
+				+ ",\"cpuNanos\":" + this.cpuNanos + ",\"allocatedBytes\":"
+				+ this.allocatedBytes + "}";
+	}
+
+	public static final class Distribution {
+
+		private final long p50;
+		private final long p90;
+		private final long p99;
+		private final long max;
+
+		Distribution(final long[] sortedValues) {
+			this.p50 = percentile(sortedValues, 50);
+			this.p90 = percentile(sortedValues, 90);
+			this.p99 = percentile(sortedValues, 99);
+			this.max = sortedValues.length == 0 ? 0 : sortedValues[sortedValues.length - 1];
+		}
+
+		private static long percentile(final long[] sortedValues, final int percent) {
+			if (sortedValues.length == 0) {
+				return 0;
+			}
+			final int rank = (int) Math.ceil(percent / 100.0 * sortedValues.length);
+			return sortedValues[Math.max(rank, 1) - 1];
+		}
+
+		public long getP50() {
+			return this.p50;
+		}
+
+		public long getP90() {
+			return this.p90;
+		}
+
+		public long getP99() {
+			return this.p99;
+		}
+
+		public long getMax() {
+			return this.max;
+		}
+
+		@Override
+		public String toString() {
+			return "{\"p50\":" + this.p50 + ",\"p90\":" + this.p90 + ",\"p99\":" + this.p99
+					+ ",\"max\":" + this.max + "}";
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orders the test cases of a {@link Parametric} test class using the duration
+ * and outcome of each case on earlier runs, which are kept in a local
+ * directory. Streamed cases keep their order. Setting the
+ * {@code parametric.history} system property to {@code false} keeps the
+ * declared order.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface OrderByHistory {
+
+	CaseOrder value() default CaseOrder.LONGEST_FIRST;
+
+	/**
+	 * Directory holding the history. The {@code parametric.history.dir}
+	 * system property takes precedence.
+	 */
+	String directory() default ".parametric-cache";
+
+}
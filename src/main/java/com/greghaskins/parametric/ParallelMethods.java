@@ -0,0 +1,103 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.runners.model.InitializationError;
+
+final class ParallelMethods {
+
+	private final int threads;
+	private final boolean threadSafe;
+	private final Method cloneMethod;
+	private ExecutorService executor;
+
+	ParallelMethods(final int threads, final boolean threadSafe, final Method cloneMethod) {
+		this.threads = threads;
+		this.threadSafe = threadSafe;
+		this.cloneMethod = cloneMethod;
+	}
+
+	static ParallelMethods forTestClass(final Class<?> testClass) throws InitializationError {
+		final RunMethodsInParallel annotation = testClass.getAnnotation(RunMethodsInParallel.class);
+		if (annotation == null) {
+			return null;
+		}
+		final Method cloneMethod = findCloneMethod(testClass);
+		if (!annotation.threadSafe() && cloneMethod == null
+				&& !ReusableTestCase.class.isAssignableFrom(testClass)) {
+			throw new InvalidParametricTestClassException(MessageFormat.format(
+					"{0} runs its test methods in parallel, so it must be marked threadSafe, "
+							+ "implement ReusableTestCase, or implement Cloneable "
+							+ "with a public clone() method", testClass.getName()));
+		}
+		return new ParallelMethods(ParallelScheduler.threadCount(annotation.threads()),
+				annotation.threadSafe(), cloneMethod);
+	}
+
+	private static Method findCloneMethod(final Class<?> testClass) {
+		if (!Cloneable.class.isAssignableFrom(testClass)) {
+			return null;
+		}
+		try {
+			final Method cloneMethod = testClass.getMethod("clone");
+			return Modifier.isStatic(cloneMethod.getModifiers()) ? null : cloneMethod;
+		} catch (final NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	int getThreads() {
+		return this.threads;
+	}
+
+	boolean isThreadSafe() {
+		return this.threadSafe;
+	}
+
+	/**
+	 * A scheduler for the test methods of one case. The schedulers of every
+	 * case share one pool of worker threads.
+	 */
+	ParallelScheduler newScheduler() {
+		return new ParallelScheduler(this);
+	}
+
+	synchronized ExecutorService getExecutor() {
+		if (this.executor == null) {
+			this.executor = Executors.newFixedThreadPool(this.threads, new WorkerThreadFactory(
+					"parametric-method-worker"));
+		}
+		return this.executor;
+	}
+
+	/**
+	 * Stops the worker threads at the end of a run. A later run starts new
+	 * ones.
+	 */
+	synchronized void shutdown() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	Object copy(final Object testCase) throws Exception {
+		if (this.cloneMethod == null) {
+			throw new IllegalStateException(MessageFormat.format(
+					"{0} cannot be copied for another thread: it has no public clone() method",
+					testCase.getClass().getName()));
+		}
+		try {
+			return this.cloneMethod.invoke(testCase);
+		} catch (final InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			throw cause instanceof Exception ? (Exception) cause : e;
+		}
+	}
+
+}
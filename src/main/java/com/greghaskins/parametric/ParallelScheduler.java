@@ -0,0 +1,196 @@
+package com.greghaskins.parametric;
+
+import java.text.MessageFormat;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+
+class ParallelScheduler implements RunnerScheduler {
+
+	static final String THREADS_PROPERTY = "parametric.threads";
+	static final int DEFAULT_VIRTUAL_THREAD_CONCURRENCY = 256;
+	static final int IN_FLIGHT_CHILDREN_PER_THREAD = 4;
+
+	private final int threads;
+	private final boolean virtualThreads;
+	private final ParallelMethods sharedPool;
+	private final LinkedList<Future<RecordingRunListener>> pending = new LinkedList<Future<RecordingRunListener>>();
+	private ExecutorService executor;
+	private Semaphore permits;
+	private RunNotifier notifier;
+
+	ParallelScheduler(final int threads) {
+		this(threads, false);
+	}
+
+	ParallelScheduler(final int threads, final boolean virtualThreads) {
+		this.threads = threads;
+		this.virtualThreads = virtualThreads;
+		this.sharedPool = null;
+	}
+
+	/**
+	 * A scheduler that submits to the worker threads of {@code sharedPool},
+	 * leaving them running when it finishes.
+	 */
+	ParallelScheduler(final ParallelMethods sharedPool) {
+		this.threads = sharedPool.getThreads();
+		this.virtualThreads = false;
+		this.sharedPool = sharedPool;
+	}
+
+	static ParallelScheduler forTestClass(final Class<?> testClass) throws InitializationError {
+		final RunInParallel annotation = testClass.getAnnotation(RunInParallel.class);
+		if (annotation == null) {
+			return null;
+		}
+		final int defaultThreads = annotation.virtualThreads() ? DEFAULT_VIRTUAL_THREAD_CONCURRENCY
+				: Runtime.getRuntime().availableProcessors();
+		return new ParallelScheduler(threadCount(annotation.threads(), defaultThreads),
+				annotation.virtualThreads());
+	}
+
+	static int threadCount(final int configuredThreads) throws InitializationError {
+		return threadCount(configuredThreads, Runtime.getRuntime().availableProcessors());
+	}
+
+	static int threadCount(final int configuredThreads, final int defaultThreads)
+			throws InitializationError {
+		if (configuredThreads > 0) {
+			return configuredThreads;
+		}
+		final String property = System.getProperty(THREADS_PROPERTY);
+		if (property == null) {
+			return defaultThreads;
+		}
+		final int threads;
+		try {
+			threads = Integer.parseInt(property.trim());
+		} catch (final NumberFormatException e) {
+			throw invalidThreadCountException(property);
+		}
+		if (threads < 1) {
+			throw invalidThreadCountException(property);
+		}
+		return threads;
+	}
+
+	private static InitializationError invalidThreadCountException(final String threads) {
+		return new InitializationError(MessageFormat.format(
+				"Invalid thread count {0}: {1} must be a positive number", threads,
+				THREADS_PROPERTY));
+	}
+
+	int getThreads() {
+		return this.threads;
+	}
+
+	boolean isUsingVirtualThreads() {
+		return this.virtualThreads && VirtualThreads.isAvailable();
+	}
+
+	public void schedule(final Runnable childStatement) {
+		childStatement.run();
+	}
+
+	/**
+	 * Runs {@code child} on a worker, first waiting for and reporting the
+	 * earliest children while too many are in flight, so that the events
+	 * buffered for children not yet reported stay bounded by the thread
+	 * count rather than growing with the number of children.
+	 */
+	void submit(final Runner child, final RunNotifier notifier) {
+		if (this.executor == null) {
+			startExecutor();
+		}
+		this.notifier = notifier;
+		while (this.pending.size() >= this.threads * IN_FLIGHT_CHILDREN_PER_THREAD) {
+			replay(this.pending.removeFirst());
+		}
+		final Semaphore childPermits = this.permits;
+		if (childPermits != null) {
+			childPermits.acquireUninterruptibly();
+		}
+		this.pending.add(this.executor.submit(new Callable<RecordingRunListener>() {
+
+			public RecordingRunListener call() {
+				final RecordingRunListener recorder = new RecordingRunListener();
+				final RunNotifier childNotifier = new RunNotifier();
+				childNotifier.addListener(recorder);
+				try {
+					child.run(childNotifier);
+				} catch (final Throwable e) {
+					childNotifier.fireTestFailure(new Failure(child.getDescription(), e));
+				} finally {
+					if (childPermits != null) {
+						childPermits.release();
+					}
+				}
+				return recorder;
+			}
+		}));
+		replayCompletedChildren();
+	}
+
+	private void startExecutor() {
+		if (this.sharedPool != null) {
+			this.executor = this.sharedPool.getExecutor();
+			return;
+		}
+		if (this.virtualThreads) {
+			this.executor = VirtualThreads.newExecutor();
+			if (this.executor != null) {
+				this.permits = new Semaphore(this.threads);
+				return;
+			}
+		}
+		this.executor = Executors.newFixedThreadPool(this.threads, new WorkerThreadFactory(
+				"parametric-worker"));
+	}
+
+	private void replayCompletedChildren() {
+		while (!this.pending.isEmpty() && this.pending.getFirst().isDone()) {
+			replay(this.pending.removeFirst());
+		}
+	}
+
+	public void finished() {
+		try {
+			while (!this.pending.isEmpty()) {
+				replay(this.pending.removeFirst());
+			}
+		} finally {
+			if (this.executor != null && this.sharedPool == null) {
+				this.executor.shutdownNow();
+			}
+			this.executor = null;
+			this.permits = null;
+			this.pending.clear();
+			this.notifier = null;
+		}
+	}
+
+	private void replay(final Future<RecordingRunListener> child) {
+		final RecordingRunListener recorder;
+		try {
+			recorder = child.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for test cases", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("Test case runner failed unexpectedly", e.getCause());
+		}
+		recorder.replayTo(this.notifier);
+	}
+
+}
@@ -1,45 +1,406 @@
 package com.greghaskins.parametric;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.AssumptionViolatedException;
+import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 
 public class Parametric extends Suite {
 
+	static final String TEST_CASES_IN_PARALLEL_PROPERTY = "parametric.testCasesInParallel";
+
+	private final ParametricSettings settings;
+	private final List<Runner> children;
+	private volatile Description description;
+
 	public Parametric(final Class<?> testClass) throws InitializationError {
-		super(testClass, buildRunnersForClass(testClass));
+		this(testClass, ParametricSettings.forTestClass(testClass));
 	}
 
-	private static <T> List<Runner> buildRunnersForClass(final Class<T> testClass)
+	private Parametric(final Class<?> testClass, final ParametricSettings settings)
 			throws InitializationError {
+		this(testClass, settings, buildRunnersForClass(testClass, settings));
+	}
+
+	private Parametric(final Class<?> testClass, final ParametricSettings settings,
+			final List<Runner> children) throws InitializationError {
+		super(testClass, children);
+		this.settings = settings;
+		this.children = new ArrayList<Runner>(children);
+		if (settings.getParallelScheduler() != null) {
+			setScheduler(settings.getParallelScheduler());
+		}
+	}
+
+	/**
+	 * With compact descriptions the tree is built once, when first needed,
+	 * and grouped into buckets.
+	 */
+	@Override
+	public Description getDescription() {
+		final DescriptionLayout layout = this.settings != null ? this.settings
+				.getDescriptionLayout() : null;
+		if (layout == null) {
+			return super.getDescription();
+		}
+		Description built = this.description;
+		if (built == null) {
+			built = layout.group(super.getDescription());
+			this.description = built;
+		}
+		return built;
+	}
+
+	@Override
+	public void filter(final Filter filter) throws NoTestsRemainException {
+		super.filter(filter);
+		this.description = null;
+		for (final Iterator<Runner> iterator = this.children.iterator(); iterator.hasNext();) {
+			if (!filter.shouldRun(describeChild(iterator.next()))) {
+				iterator.remove();
+			}
+		}
+	}
+
+	@Override
+	public void sort(final Sorter sorter) {
+		super.sort(sorter);
+		this.description = null;
+	}
+
+	@Override
+	public void run(final RunNotifier notifier) {
+		if (this.settings.getEarlyAbort() != null) {
+			this.settings.getEarlyAbort().reset();
+		}
+		if (this.settings.getFixtures() != null) {
+			this.settings.getFixtures().reset(childrenPerGroup());
+		}
+		final SampleSeedReporter failures = this.settings.getSampling().isSampling() ? new SampleSeedReporter()
+				: null;
+		if (failures != null) {
+			notifier.addListener(failures);
+		}
+		try {
+			super.run(notifier);
+		} finally {
+			finishRun(notifier);
+			if (failures != null) {
+				notifier.removeListener(failures);
+				failures.reportSeed(notifier);
+			}
+		}
+	}
+
+	/**
+	 * Reports the sample seed after a sampled run with failures, as an
+	 * assumption failure of the suite, so that it appears in test reports and
+	 * the same cases can be run again.
+	 */
+	private class SampleSeedReporter extends RunListener {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void testFailure(final Failure failure) {
+			this.count.incrementAndGet();
+		}
+
+		void reportSeed(final RunNotifier notifier) {
+			final int failed = this.count.get();
+			if (failed > 0) {
+				notifier.fireTestAssumptionFailed(new Failure(getDescription(),
+						new AssumptionViolatedException(MessageFormat.format(
+								"{0} failed in a {1}", failed, Parametric.this.settings
+										.getSampling().describe()))));
+			}
+		}
+	}
+
+	private void finishRun(final RunNotifier notifier) {
+		if (this.settings.getMetrics() != null) {
+			try {
+				this.settings.getMetrics().finish();
+			} catch (final IOException e) {
+				notifier.fireTestFailure(new Failure(getDescription(), e));
+			}
+		}
+		if (this.settings.getResults() != null) {
+			try {
+				this.settings.getResults().save();
+			} catch (final IOException e) {
+				notifier.fireTestFailure(new Failure(getDescription(), e));
+			}
+		}
+		if (this.settings.getHistory() != null) {
+			try {
+				this.settings.getHistory().save();
+			} catch (final IOException e) {
+				notifier.fireTestFailure(new Failure(getDescription(), e));
+			}
+		}
+		if (this.settings.getInstancePool() != null) {
+			this.settings.getInstancePool().clear();
+		}
+		if (this.settings.getParallelMethods() != null) {
+			this.settings.getParallelMethods().shutdown();
+		}
+	}
+
+	/**
+	 * How many children of this runner run the cases of each
+	 * {@link TestCases} method, so that its fixtures are torn down after the
+	 * last of them.
+	 */
+	private Map<String, Integer> childrenPerGroup() {
+		final Map<String, Integer> counts = new HashMap<String, Integer>();
+		for (final Runner child : this.children) {
+			final String group = groupOf(child);
+			if (group != null) {
+				final Integer count = counts.get(group);
+				counts.put(group, count == null ? 1 : count + 1);
+			}
+		}
+		return counts;
+	}
+
+	private static String groupOf(final Runner child) {
+		if (child instanceof ParametricRunner) {
+			return ((ParametricRunner<?>) child).getTestCasesMethodName();
+		}
+		if (child instanceof StreamingTestCasesRunner) {
+			return ((StreamingTestCasesRunner<?>) child).getTestCasesMethodName();
+		}
+		return null;
+	}
+
+	@Override
+	protected void runChild(final Runner child, final RunNotifier notifier) {
+		final Runner runner = this.settings.getFixtures() != null ? this.settings.getFixtures()
+				.wrap(child, groupOf(child)) : child;
+		if (this.settings.getParallelScheduler() != null) {
+			this.settings.getParallelScheduler().submit(runner, notifier);
+		} else {
+			super.runChild(runner, notifier);
+		}
+	}
+
+	private static <T> List<Runner> buildRunnersForClass(final Class<T> testClass,
+			final ParametricSettings settings) throws InitializationError {
+		final List<Runner> runners = buildRunners(testClass, settings);
+		if (settings.getHistory() == null) {
+			return runners;
+		}
+		final List<Runner> ordered = new ArrayList<Runner>(runners);
+		settings.getHistory().order(ordered);
+		return ordered;
+	}
+
+	private static <T> List<Runner> buildRunners(final Class<T> testClass,
+			final ParametricSettings settings) throws InitializationError {
 		final List<Method> testCasesAnnotatedMethods = findTestCasesAnnotatedMethods(testClass);
+		final int threads = testCasesThreadCount(testClass);
+		if (testCasesAnnotatedMethods.size() == 1 || threads == 1) {
+			final ArrayList<Runner> runners = new ArrayList<Runner>();
+			for (final Method testCasesMethod : testCasesAnnotatedMethods) {
+				runners.addAll(getTestCasesFromMethod(testCasesMethod, settings));
+			}
+			return runners;
+		}
 
-		final ArrayList<Runner> runners = new ArrayList<Runner>();
-		for (final Method testCasesMethod : testCasesAnnotatedMethods) {
-			runners.addAll(getTestCasesFromMethod(testCasesMethod));
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(testCasesAnnotatedMethods.size(), threads),
+				new WorkerThreadFactory("parametric-provider"));
+		try {
+			final List<Future<List<Runner>>> runnersPerMethod = new ArrayList<Future<List<Runner>>>();
+			for (final Method testCasesMethod : testCasesAnnotatedMethods) {
+				runnersPerMethod.add(executor.submit(new Callable<List<Runner>>() {
+
+					public List<Runner> call() throws InitializationError {
+						return getTestCasesFromMethod(testCasesMethod, settings);
+					}
+				}));
+			}
+
+			final ArrayList<Runner> runners = new ArrayList<Runner>();
+			for (final Future<List<Runner>> runnersForMethod : runnersPerMethod) {
+				runners.addAll(awaitRunners(runnersForMethod));
+			}
+			return runners;
+		} finally {
+			executor.shutdownNow();
 		}
-		return runners;
 	}
 
-	private static <T> List<Runner> getTestCasesFromMethod(final Method testCasesMethod)
+	/**
+	 * How many {@link TestCases} methods to call at once: one, unless the
+	 * class or the {@code parametric.testCasesInParallel} system property
+	 * asks for them to be called concurrently.
+	 */
+	private static int testCasesThreadCount(final Class<?> testClass)
 			throws InitializationError {
-		final ArrayList<Runner> runners = new ArrayList<Runner>();
+		final CallTestCasesInParallel annotation = testClass
+				.getAnnotation(CallTestCasesInParallel.class);
+		if (annotation != null) {
+			return ParallelScheduler.threadCount(annotation.threads());
+		}
+		if ("true".equals(System.getProperty(TEST_CASES_IN_PARALLEL_PROPERTY))) {
+			return ParallelScheduler.threadCount(0);
+		}
+		return 1;
+	}
+
+	private static List<Runner> awaitRunners(final Future<List<Runner>> runnersForMethod)
+			throws InitializationError {
+		try {
+			return runnersForMethod.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InitializationError(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof InitializationError) {
+				throw (InitializationError) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new InitializationError(cause);
+		}
+	}
+
+	private static <T> List<Runner> getTestCasesFromMethod(final Method testCasesMethod,
+			final ParametricSettings settings) throws InitializationError {
 		final Iterable<T> testCases = getTestCases(testCasesMethod);
+		if (testCasesMethod.getAnnotation(TestCases.class).streaming()
+				|| testCases instanceof IndexedTestCases) {
+			return Collections.<Runner> singletonList(new StreamingTestCasesRunner<T>(
+					testCasesMethod, testCases, settings));
+		}
 
+		final CaseNamer namer = CaseNamer.forMethod(testCasesMethod);
+		final ArrayList<Runner> runners = new ArrayList<Runner>();
+		if (settings.getSampling().isSampling()) {
+			final Sampling.Selection<T> selection = settings.getSampling().select(testCasesMethod);
+			for (final T testCase : testCases) {
+				selection.offer(testCase);
+			}
+			for (final Sampling.Selected<T> selected : selection.getSelected()) {
+				if (settings.getSelection().includesIndex(selected.index)) {
+					addRunner(runners, selected.testCase, namer.nameFor(selected.testCase,
+							selected.index), namer, testCasesMethod, settings);
+				}
+			}
+			return runners;
+		}
+		final CaseSelection caseSelection = settings.getSelection();
+		int index = 0;
 		for (final T testCase : testCases) {
-			runners.add(new ParametricRunner<T>(testCase));
+			if (caseSelection.includesIndex(index)) {
+				addRunner(runners, testCase, namer.nameFor(testCase, index), namer,
+						testCasesMethod, settings);
+			}
+			if (++index > caseSelection.getLastIndex()) {
+				break;
+			}
 		}
 		return runners;
 	}
 
+	private static <T> void addRunner(final List<Runner> runners, final T testCase,
+			final String name, final CaseNamer namer, final Method testCasesMethod,
+			final ParametricSettings settings) throws InitializationError {
+		if (settings.includes(testCase, name, namer)) {
+			runners.add(createRunner(testCase, name, testCasesMethod, settings));
+		}
+	}
+
+	static <T> ParametricRunner<T> createRunner(final T testCase, final String name,
+			final Method testCasesMethod, final ParametricSettings settings)
+			throws InitializationError {
+		final ParametricRunner<T> runner = new ParametricRunner<T>(testClassFor(testCase,
+				testCasesMethod), testCase, name);
+		runner.setTestCasesMethodName(testCasesMethod.getName());
+		if (isParameterObject(testCase, testCasesMethod)) {
+			runner.reuseInstancesFrom(settings.getInstancePool());
+		}
+		if (settings.getMetrics() != null) {
+			runner.recordMetricsTo(settings.getMetrics());
+		}
+		if (settings.getEarlyAbort() != null) {
+			runner.abortWith(settings.getEarlyAbort());
+		}
+		if (settings.getResults() != null) {
+			runner.useResultCache(settings.getResults());
+		}
+		if (settings.getHistory() != null) {
+			runner.recordHistoryTo(settings.getHistory());
+		}
+		if (settings.getDescriptionLayout() != null) {
+			runner.describeWith(settings.getDescriptionLayout());
+		}
+		if (settings.getInvokers() != null) {
+			runner.invokeWith(settings.getInvokers());
+		}
+		if (settings.getTimeoutWatchdog() != null) {
+			runner.watchTimeoutsWith(settings.getTimeoutWatchdog());
+		}
+		if (settings.getFixtures() != null) {
+			runner.useFixturesFrom(settings.getFixtures());
+		}
+		if (settings.getParallelMethods() != null) {
+			runner.runMethodsInParallel(settings.getParallelMethods());
+		}
+		return runner;
+	}
+
+	/**
+	 * The class to run a test case with: the case's own class, or the
+	 * declaring {@link ReusableTestCase} class when the case is only a
+	 * parameter object.
+	 */
+	static Class<?> testClassFor(final Object testCase, final Method testCasesMethod)
+			throws InvalidParametricTestClassException {
+		if (testCase == null) {
+			throw new InvalidParametricTestClassException("Test case instances may not be null");
+		}
+		return isParameterObject(testCase, testCasesMethod) ? testCasesMethod
+				.getDeclaringClass() : testCase.getClass();
+	}
+
+	private static boolean isParameterObject(final Object testCase, final Method testCasesMethod) {
+		return !testCasesMethod.getDeclaringClass().isInstance(testCase);
+	}
+
 	private static <T> List<Method> findTestCasesAnnotatedMethods(final Class<T> testClass)
 			throws InvalidParametricTestClassException {
 		final ArrayList<Method> testCasesMethods = new ArrayList<Method>();
@@ -63,6 +424,14 @@ public class Parametric extends Suite {
 		verifyMethodDoesNotAcceptAnyArguments(testCasesMethod);
 		verifyMethodIsStatic(testCasesMethod);
 
+		final CasesCache cache = CasesCache.forMethod(testCasesMethod);
+		if (cache != null) {
+			final Iterable<T> cached = cache.load();
+			if (cached != null) {
+				return cached;
+			}
+		}
+
 		final Object testCasesAsObject;
 		try {
 			testCasesAsObject = testCasesMethod.invoke(null);
@@ -70,26 +439,57 @@ public class Parametric extends Suite {
 			throw new InitializationError(e);
 		}
 
-		return convertReturnValueToIterable(testCasesMethod, testCasesAsObject);
+		final Iterable<T> testCases = convertReturnValueToIterable(testCasesMethod,
+				testCasesAsObject);
+		if (cache == null || testCases instanceof IndexedTestCases) {
+			return testCases;
+		}
+		try {
+			return cache.store(testCases);
+		} catch (final IOException e) {
+			throw new InitializationError(e);
+		}
 	}
 
 	private static void verifyMethodReturnsIterableOfCorrectType(final Method testCasesMethod)
 			throws InvalidParametricTestClassException {
 		final Class<?> returnType = testCasesMethod.getReturnType();
-		final Type genericReturnType = testCasesMethod.getGenericReturnType();
-		if (!Iterable.class.isAssignableFrom(returnType)
-				|| !(genericReturnType instanceof ParameterizedType)) {
+		final Type elementType = iterableElementType(testCasesMethod.getGenericReturnType());
+		if (!Iterable.class.isAssignableFrom(returnType) || elementType == null) {
 			throw invalidReturnTypeException(testCasesMethod);
 		}
 
-		final ParameterizedType parameterizedReturnType = (ParameterizedType) genericReturnType;
-		final Type[] typeArguments = parameterizedReturnType.getActualTypeArguments();
-
-		if (!typeArguments[0].equals(testCasesMethod.getDeclaringClass())) {
+		final Class<?> testClass = testCasesMethod.getDeclaringClass();
+		if (!elementType.equals(testClass)
+				&& !elementType.equals(InstancePool.parameterType(testClass))) {
 			throw invalidReturnTypeException(testCasesMethod);
 		}
 	}
 
+	/**
+	 * The element type of a parameterized Iterable such as
+	 * {@code List<AdderTest>}, or of a class such as {@link IntCases} that
+	 * implements one.
+	 */
+	private static Type iterableElementType(final Type iterableType) {
+		if (iterableType instanceof ParameterizedType) {
+			return ((ParameterizedType) iterableType).getActualTypeArguments()[0];
+		}
+		if (!(iterableType instanceof Class)) {
+			return null;
+		}
+		for (final Type implemented : ((Class<?>) iterableType).getGenericInterfaces()) {
+			if (implemented instanceof ParameterizedType) {
+				final Class<?> rawType = (Class<?>) ((ParameterizedType) implemented).getRawType();
+				if (Iterable.class.isAssignableFrom(rawType)
+						&& rawType.getTypeParameters().length == 1) {
+					return ((ParameterizedType) implemented).getActualTypeArguments()[0];
+				}
+			}
+		}
+		return null;
+	}
+
 	private static InvalidParametricTestClassException invalidReturnTypeException(
 			final Method testCasesMethod) {
 		final Class<?> testClass = testCasesMethod.getDeclaringClass();
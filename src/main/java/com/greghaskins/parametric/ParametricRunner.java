@@ -1,18 +1,74 @@
 package com.greghaskins.parametric;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.statements.ExpectException;
+import org.junit.internal.runners.statements.Fail;
+import org.junit.internal.runners.statements.FailOnTimeout;
+import org.junit.internal.runners.statements.RunAfters;
+import org.junit.internal.runners.statements.RunBefores;
+import org.junit.rules.MethodRule;
+import org.junit.rules.RunRules;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestClass;
 
 class ParametricRunner<T> extends BlockJUnit4ClassRunner {
 
 	private final T testCase;
+	private final String name;
+	private MetricsCollector metrics;
+	private String testCasesMethodName;
+	private ResultCache results;
+	private String caseIdentity;
+	private EarlyAbort earlyAbort;
+	private InstancePool instancePool;
+	private ReusableTestCase<Object> boundInstance;
+	private ParallelMethods parallelMethods;
+	private ParallelScheduler methodScheduler;
+	private ThreadMetrics.OtherThreads methodThreadMetrics;
+	private ConcurrentMap<Thread, Object> threadCopies;
+	private CaseHistory history;
+	private DescriptionLayout layout;
+	private Invokers invokers;
+	private TimeoutWatchdog timeoutWatchdog;
+	private GroupFixtures fixtures;
+	// Set by createTestClass while the superclass constructor runs; holding
+	// it keeps the metadata shared with other runners of the class alive.
+	private TestClassMetadata metadata;
+	private volatile Description caseDescription;
+	private volatile boolean failed;
+	private volatile boolean ranMethods;
 
 	ParametricRunner(final T testCase) throws InitializationError {
-		super(getTestClass(testCase));
+		this(testCase, CaseNamer.DEFAULT.nameFor(testCase, 0));
+	}
+
+	ParametricRunner(final T testCase, final String name) throws InitializationError {
+		this(getTestClass(testCase), testCase, name);
+	}
+
+	ParametricRunner(final Class<?> testClass, final T testCase, final String name)
+			throws InitializationError {
+		super(testClass);
 		this.testCase = testCase;
+		this.name = name;
 	}
 
 	private static Class<? extends Object> getTestClass(final Object testCase)
@@ -27,9 +83,369 @@ class ParametricRunner<T> extends BlockJUnit4ClassRunner {
 		return this.testCase;
 	}
 
+	void setTestCasesMethodName(final String testCasesMethodName) {
+		this.testCasesMethodName = testCasesMethodName;
+	}
+
+	String getTestCasesMethodName() {
+		return this.testCasesMethodName;
+	}
+
+	void recordMetricsTo(final MetricsCollector metrics) {
+		this.metrics = metrics;
+	}
+
+	void abortWith(final EarlyAbort earlyAbort) {
+		this.earlyAbort = earlyAbort;
+	}
+
+	void reuseInstancesFrom(final InstancePool instancePool) {
+		this.instancePool = instancePool;
+	}
+
+	void runMethodsInParallel(final ParallelMethods parallelMethods) {
+		this.parallelMethods = parallelMethods;
+		this.methodScheduler = parallelMethods.newScheduler();
+		setScheduler(this.methodScheduler);
+		if (!parallelMethods.isThreadSafe()) {
+			this.threadCopies = new ConcurrentHashMap<Thread, Object>();
+		}
+	}
+
+	void recordHistoryTo(final CaseHistory history) {
+		this.history = history;
+	}
+
+	void describeWith(final DescriptionLayout layout) {
+		this.layout = layout;
+	}
+
+	void invokeWith(final Invokers invokers) {
+		this.invokers = invokers;
+	}
+
+	void watchTimeoutsWith(final TimeoutWatchdog timeoutWatchdog) {
+		this.timeoutWatchdog = timeoutWatchdog;
+	}
+
+	void useFixturesFrom(final GroupFixtures fixtures) {
+		this.fixtures = fixtures;
+	}
+
+	void useResultCache(final ResultCache results) throws InitializationError {
+		this.results = results;
+		this.caseIdentity = CaseIdentity.of(this.testCase, this.name);
+	}
+
+	@Override
+	public void run(final RunNotifier notifier) {
+		if (this.earlyAbort != null && this.earlyAbort.shouldSkip(this.testCasesMethodName)) {
+			fireTestsIgnored(notifier);
+			return;
+		}
+		final ThreadMetrics start = this.metrics != null ? ThreadMetrics.now() : null;
+		if (this.metrics != null && this.methodScheduler != null) {
+			this.methodThreadMetrics = new ThreadMetrics.OtherThreads();
+		}
+		final long startNanos = System.nanoTime();
+		try {
+			if (this.layout != null) {
+				runAsOneTest(notifier);
+			} else {
+				super.run(notifier);
+			}
+		} finally {
+			releaseInstances();
+			if (this.history != null && this.ranMethods) {
+				this.history.record(this.testCasesMethodName, this.name, System.nanoTime()
+						- startNanos, this.failed);
+			}
+			if (this.methodThreadMetrics != null) {
+				this.metrics.record(ThreadMetrics.now().since(start, this.methodThreadMetrics,
+						this.testCasesMethodName, this.name, null));
+				this.methodThreadMetrics = null;
+			} else if (this.metrics != null) {
+				this.metrics.record(ThreadMetrics.now().since(start, this.testCasesMethodName,
+						this.name, null));
+			}
+			if (this.earlyAbort != null) {
+				this.earlyAbort.caseFinished(this.testCasesMethodName, this.failed);
+			}
+		}
+	}
+
+	/**
+	 * Runs every test method, reporting their events against the single
+	 * description of this case.
+	 */
+	private void runAsOneTest(final RunNotifier notifier) {
+		final CaseEvents events = new CaseEvents(notifier, getDescription());
+		final RunNotifier methodNotifier = new RunNotifier();
+		methodNotifier.addListener(events);
+		try {
+			super.run(methodNotifier);
+		} finally {
+			events.finish();
+		}
+	}
+
+	private synchronized void releaseInstances() {
+		if (this.boundInstance != null) {
+			this.instancePool.release(this.boundInstance);
+			this.boundInstance = null;
+		}
+		if (this.threadCopies != null) {
+			if (this.instancePool != null) {
+				for (final Object copy : this.threadCopies.values()) {
+					@SuppressWarnings("unchecked")
+					final ReusableTestCase<Object> pooled = (ReusableTestCase<Object>) copy;
+					this.instancePool.release(pooled);
+				}
+			}
+			this.threadCopies.clear();
+		}
+	}
+
+	private void fireTestsIgnored(final RunNotifier notifier) {
+		if (this.layout != null) {
+			notifier.fireTestIgnored(getDescription());
+			return;
+		}
+		for (final Description description : getDescription().getChildren()) {
+			notifier.fireTestIgnored(description);
+		}
+	}
+
+	@Override
+	protected void runChild(final FrameworkMethod method, final RunNotifier notifier) {
+		if (this.methodScheduler != null) {
+			this.methodScheduler.submit(new MethodRunner(method), notifier);
+		} else {
+			runMethod(method, notifier);
+		}
+	}
+
+	private void runMethod(final FrameworkMethod method, final RunNotifier notifier) {
+		if (this.results != null && this.results.hasPassed(resultKey(method))) {
+			notifier.fireTestIgnored(describeChild(method));
+			return;
+		}
+		this.ranMethods = true;
+		if (this.metrics == null) {
+			super.runChild(method, notifier);
+			return;
+		}
+		final ThreadMetrics start = ThreadMetrics.now();
+		try {
+			super.runChild(method, notifier);
+		} finally {
+			final TestMetrics methodMetrics = ThreadMetrics.now().since(start,
+					this.testCasesMethodName, this.name, method.getName());
+			if (this.methodThreadMetrics != null) {
+				this.methodThreadMetrics.add(methodMetrics);
+			}
+			this.metrics.record(methodMetrics);
+		}
+	}
+
+	@Override
+	public Description getDescription() {
+		if (this.layout == null) {
+			return super.getDescription();
+		}
+		Description description = this.caseDescription;
+		if (description == null) {
+			description = DescriptionLayout.describeCase(getTestClass().getJavaClass(), this.name);
+			this.caseDescription = description;
+		}
+		return description;
+	}
+
+	@Override
+	protected Description describeChild(final FrameworkMethod method) {
+		if (this.layout == null) {
+			return super.describeChild(method);
+		}
+		return this.metadata.describeMethod(method);
+	}
+
+	@Override
+	public void filter(final Filter filter) throws NoTestsRemainException {
+		if (this.layout == null) {
+			super.filter(filter);
+		} else if (!filter.shouldRun(getDescription())) {
+			throw new NoTestsRemainException();
+		}
+	}
+
+	@Override
+	protected TestClass createTestClass(final Class<?> testClass) {
+		this.metadata = TestClassMetadata.forClass(testClass);
+		return this.metadata.getTestClass();
+	}
+
+	@Override
+	protected void collectInitializationErrors(final List<Throwable> errors) {
+		List<Throwable> validationErrors = this.metadata.getValidationErrors();
+		if (validationErrors == null) {
+			validationErrors = new ArrayList<Throwable>();
+			super.collectInitializationErrors(validationErrors);
+			this.metadata.setValidationErrors(validationErrors);
+		}
+		errors.addAll(validationErrors);
+	}
+
+	@Override
+	protected Statement methodBlock(final FrameworkMethod method) {
+		final Statement statement = planBlock(method);
+		if (this.results == null && this.earlyAbort == null && this.history == null) {
+			return statement;
+		}
+		final ResultCache results = this.results;
+		final String key = results != null ? resultKey(method) : null;
+		if (results != null) {
+			results.running(key);
+		}
+		return new Statement() {
+
+			@Override
+			public void evaluate() throws Throwable {
+				try {
+					statement.evaluate();
+				} catch (final AssumptionViolatedException e) {
+					throw e;
+				} catch (final Throwable e) {
+					ParametricRunner.this.failed = true;
+					throw e;
+				}
+				if (results != null) {
+					results.passed(key);
+				}
+			}
+		};
+	}
+
+	@Override
+	protected Statement methodInvoker(final FrameworkMethod method, final Object test) {
+		if (this.invokers == null) {
+			return super.methodInvoker(method, test);
+		}
+		return this.invokers.invoke(method, test);
+	}
+
+	/**
+	 * Builds the same statement as {@link BlockJUnit4ClassRunner}, but from
+	 * the {@link MethodPlan} of the test class, so annotations and member
+	 * lists are only looked up once per class.
+	 */
+	private Statement planBlock(final FrameworkMethod method) {
+		final Object test;
+		try {
+			test = createTest();
+			if (this.fixtures != null) {
+				this.fixtures.inject(this.testCasesMethodName, test);
+			}
+		} catch (final InvocationTargetException e) {
+			return new Fail(e.getCause());
+		} catch (final Throwable e) {
+			return new Fail(e);
+		}
+		final MethodPlan plan = this.metadata.planFor(method);
+		Statement statement = methodInvoker(method, test);
+		if (plan.getExpectedException() != null) {
+			statement = new ExpectException(statement, plan.getExpectedException());
+		}
+		if (plan.getTimeout() > 0 && this.timeoutWatchdog != null) {
+			statement = this.timeoutWatchdog.withTimeout(statement, plan.getTimeout());
+		} else if (plan.getTimeout() > 0) {
+			statement = FailOnTimeout.builder().withTimeout(plan.getTimeout(),
+					TimeUnit.MILLISECONDS).build(statement);
+		}
+		statement = withBefores(plan.getBefores(), test, statement);
+		statement = withAfters(plan.getAfters(), test, statement);
+		if (plan.hasRules()) {
+			statement = withRules(method, test, statement);
+		}
+		return statement;
+	}
+
+	private Statement withBefores(final List<FrameworkMethod> befores, final Object target,
+			final Statement statement) {
+		if (this.invokers != null) {
+			return this.invokers.withBefores(befores, target, statement);
+		}
+		return befores.isEmpty() ? statement : new RunBefores(statement, befores, target);
+	}
+
+	private Statement withAfters(final List<FrameworkMethod> afters, final Object target,
+			final Statement statement) {
+		if (this.invokers != null) {
+			return this.invokers.withAfters(afters, target, statement);
+		}
+		return afters.isEmpty() ? statement : new RunAfters(statement, afters, target);
+	}
+
+	/**
+	 * Applies method rules, then test rules, exactly as
+	 * {@link BlockJUnit4ClassRunner} does.
+	 */
+	private Statement withRules(final FrameworkMethod method, final Object target,
+			final Statement statement) {
+		final List<TestRule> testRules = getTestRules(target);
+		Statement result = statement;
+		for (final MethodRule each : rules(target)) {
+			if (!testRules.contains(each)) {
+				result = each.apply(result, method, target);
+			}
+		}
+		return testRules.isEmpty() ? result : new RunRules(result, testRules,
+				describeForRules(method));
+	}
+
+	/**
+	 * With compact descriptions every case shares one description per test
+	 * method, so rules such as {@code TestName} get their own, naming the
+	 * case as it would be named without them.
+	 */
+	private Description describeForRules(final FrameworkMethod method) {
+		if (this.layout == null) {
+			return describeChild(method);
+		}
+		return Description.createTestDescription(getTestClass().getJavaClass(),
+				testName(method), method.getAnnotations());
+	}
+
+	private String resultKey(final FrameworkMethod method) {
+		return ResultCache.keyFor(this.caseIdentity, method.getName());
+	}
+
 	@Override
 	protected Object createTest() throws Exception {
-		return this.testCase;
+		if (this.threadCopies != null) {
+			return copyForCurrentThread();
+		}
+		if (this.instancePool == null) {
+			return this.testCase;
+		}
+		return sharedInstance();
+	}
+
+	private synchronized Object sharedInstance() throws Exception {
+		if (this.boundInstance == null) {
+			this.boundInstance = this.instancePool.borrow(this.testCase);
+		}
+		return this.boundInstance;
+	}
+
+	private Object copyForCurrentThread() throws Exception {
+		final Thread thread = Thread.currentThread();
+		Object copy = this.threadCopies.get(thread);
+		if (copy == null) {
+			copy = this.instancePool != null ? this.instancePool.borrow(this.testCase)
+					: this.parallelMethods.copy(this.testCase);
+			this.threadCopies.put(thread, copy);
+		}
+		return copy;
 	}
 
 	@Override
@@ -38,12 +454,85 @@ class ParametricRunner<T> extends BlockJUnit4ClassRunner {
 
 	@Override
 	protected String getName() {
-		return "[" + this.testCase.toString() + "]";
+		return this.name;
 	}
 
 	@Override
 	protected String testName(final FrameworkMethod method) {
-		return method.getName() + getName();
+		return method.getName() + this.name;
+	}
+
+	/**
+	 * Runs one test method of this case as a child of the method scheduler.
+	 */
+	private class MethodRunner extends Runner {
+
+		private final FrameworkMethod method;
+
+		MethodRunner(final FrameworkMethod method) {
+			this.method = method;
+		}
+
+		@Override
+		public Description getDescription() {
+			return describeChild(this.method);
+		}
+
+		@Override
+		public void run(final RunNotifier notifier) {
+			runMethod(this.method, notifier);
+		}
+	}
+
+	/**
+	 * Reports the events of the test methods of a case as events of the case
+	 * itself: started with its first method, then finished, or ignored when no
+	 * method ran.
+	 */
+	private static class CaseEvents extends RunListener {
+
+		private final RunNotifier notifier;
+		private final Description caseDescription;
+		private boolean started;
+
+		CaseEvents(final RunNotifier notifier, final Description caseDescription) {
+			this.notifier = notifier;
+			this.caseDescription = caseDescription;
+		}
+
+		@Override
+		public synchronized void testStarted(final Description description) {
+			start();
+		}
+
+		@Override
+		public synchronized void testFailure(final Failure failure) {
+			start();
+			this.notifier.fireTestFailure(new Failure(this.caseDescription, failure
+					.getException()));
+		}
+
+		@Override
+		public synchronized void testAssumptionFailure(final Failure failure) {
+			start();
+			this.notifier.fireTestAssumptionFailed(new Failure(this.caseDescription, failure
+					.getException()));
+		}
+
+		private void start() {
+			if (!this.started) {
+				this.started = true;
+				this.notifier.fireTestStarted(this.caseDescription);
+			}
+		}
+
+		synchronized void finish() {
+			if (this.started) {
+				this.notifier.fireTestFinished(this.caseDescription);
+			} else {
+				this.notifier.fireTestIgnored(this.caseDescription);
+			}
+		}
 	}
 
 }
@@ -0,0 +1,152 @@
+package com.greghaskins.parametric;
+
+import org.junit.runners.model.InitializationError;
+
+final class ParametricSettings {
+
+	static final ParametricSettings DEFAULT = new ParametricSettings(Sharding.NONE,
+			CaseSelection.ALL, null, null, null, null, null, Sampling.NONE, null, null, null,
+			null, null, null);
+
+	private final Sharding sharding;
+	private final CaseSelection selection;
+	private final ParallelScheduler parallelScheduler;
+	private final MetricsCollector metrics;
+	private final ResultCache results;
+	private final EarlyAbort earlyAbort;
+	private final InstancePool instancePool;
+	private final Sampling sampling;
+	private final ParallelMethods parallelMethods;
+	private final CaseHistory history;
+	private final DescriptionLayout descriptionLayout;
+	private final Invokers invokers;
+	private final TimeoutWatchdog timeoutWatchdog;
+	private final GroupFixtures fixtures;
+
+	ParametricSettings(final Sharding sharding, final CaseSelection selection,
+			final ParallelScheduler parallelScheduler, final MetricsCollector metrics,
+			final ResultCache results, final EarlyAbort earlyAbort,
+			final InstancePool instancePool, final Sampling sampling,
+			final ParallelMethods parallelMethods, final CaseHistory history,
+			final DescriptionLayout descriptionLayout, final Invokers invokers,
+			final TimeoutWatchdog timeoutWatchdog, final GroupFixtures fixtures) {
+		this.sharding = sharding;
+		this.selection = selection;
+		this.parallelScheduler = parallelScheduler;
+		this.metrics = metrics;
+		this.results = results;
+		this.earlyAbort = earlyAbort;
+		this.instancePool = instancePool;
+		this.sampling = sampling;
+		this.parallelMethods = parallelMethods;
+		this.history = history;
+		this.descriptionLayout = descriptionLayout;
+		this.invokers = invokers;
+		this.timeoutWatchdog = timeoutWatchdog;
+		this.fixtures = fixtures;
+	}
+
+	static ParametricSettings forTestClass(final Class<?> testClass) throws InitializationError {
+		return new ParametricSettings(Sharding.fromSystemProperties(),
+				CaseSelection.fromSystemProperties(),
+				ParallelScheduler.forTestClass(testClass), MetricsCollector.forTestClass(testClass),
+				ResultCache.forTestClass(testClass), EarlyAbort.forTestClass(testClass),
+				InstancePool.forTestClass(testClass), Sampling.forTestClass(testClass),
+				ParallelMethods.forTestClass(testClass), CaseHistory.forTestClass(testClass),
+				DescriptionLayout.forTestClass(testClass), invokersFor(testClass),
+				TimeoutWatchdog.forTestClass(testClass), GroupFixtures.forTestClass(testClass));
+	}
+
+	/**
+	 * Checked here rather than in {@link Invokers} so that classes without
+	 * {@link FastInvocation} never load it.
+	 */
+	private static Invokers invokersFor(final Class<?> testClass) {
+		if (testClass.isAnnotationPresent(FastInvocation.class)
+				|| Boolean.getBoolean(Invokers.PROPERTY)) {
+			return new Invokers();
+		}
+		return null;
+	}
+
+	Sharding getSharding() {
+		return this.sharding;
+	}
+
+	CaseSelection getSelection() {
+		return this.selection;
+	}
+
+	/**
+	 * Whether the case named {@code name}, which could not be created, is in
+	 * this shard and selected.
+	 */
+	boolean includes(final String name) {
+		return this.sharding.includes(name) && this.selection.includesName(name);
+	}
+
+	/**
+	 * Whether {@code testCase}, named {@code name}, is in this shard and
+	 * selected. It is sharded by its {@link CaseIdentity#forSharding identity}
+	 * rather than by its name, so that cases named by their index keep their
+	 * shard when earlier cases are added or removed.
+	 */
+	boolean includes(final Object testCase, final String name, final CaseNamer namer)
+			throws InitializationError {
+		if (!this.selection.includesName(name)) {
+			return false;
+		}
+		return !this.sharding.isSharded()
+				|| this.sharding.includes(CaseIdentity.forSharding(testCase, name, namer
+						.namesByIndex()));
+	}
+
+	ParallelScheduler getParallelScheduler() {
+		return this.parallelScheduler;
+	}
+
+	MetricsCollector getMetrics() {
+		return this.metrics;
+	}
+
+	ResultCache getResults() {
+		return this.results;
+	}
+
+	EarlyAbort getEarlyAbort() {
+		return this.earlyAbort;
+	}
+
+	InstancePool getInstancePool() {
+		return this.instancePool;
+	}
+
+	Sampling getSampling() {
+		return this.sampling;
+	}
+
+	ParallelMethods getParallelMethods() {
+		return this.parallelMethods;
+	}
+
+	CaseHistory getHistory() {
+		return this.history;
+	}
+
+	DescriptionLayout getDescriptionLayout() {
+		return this.descriptionLayout;
+	}
+
+	Invokers getInvokers() {
+		return this.invokers;
+	}
+
+	TimeoutWatchdog getTimeoutWatchdog() {
+		return this.timeoutWatchdog;
+	}
+
+	GroupFixtures getFixtures() {
+		return this.fixtures;
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.greghaskins.parametric;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Turns one record of a {@link MappedTestCases} file into a test case. The
+ * buffer holds exactly the record's bytes (without any line terminator) and is
+ * only valid for the duration of the call.
+ */
+public interface RecordDecoder<T> {
+
+	T decode(ByteBuffer record) throws Exception;
+
+}
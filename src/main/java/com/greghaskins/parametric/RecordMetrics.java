@@ -0,0 +1,31 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records wall time, CPU time and allocated bytes for every test case and
+ * test method of a {@link Parametric} test class, and a percentile summary for
+ * each {@link TestCases} method at the end of the run. Setting the
+ * {@code parametric.metrics.file} system property enables recording for every
+ * class, even without this annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RecordMetrics {
+
+	/**
+	 * Listeners to notify of each measurement and summary. Each needs a public
+	 * no-argument constructor.
+	 */
+	Class<? extends MetricsListener>[] listeners() default {};
+
+	/**
+	 * File to write measurements and summaries to, one JSON object per line.
+	 * The {@code parametric.metrics.file} system property takes precedence.
+	 */
+	String file() default "";
+
+}
@@ -0,0 +1,78 @@
+package com.greghaskins.parametric;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+class RecordingRunListener extends RunListener {
+
+	private enum EventType {
+		STARTED, FAILURE, ASSUMPTION_FAILURE, IGNORED, FINISHED
+	}
+
+	private static class Event {
+		private final EventType type;
+		private final Description description;
+		private final Failure failure;
+
+		Event(final EventType type, final Description description, final Failure failure) {
+			this.type = type;
+			this.description = description;
+			this.failure = failure;
+		}
+	}
+
+	private final List<Event> events = new ArrayList<Event>();
+
+	@Override
+	public void testStarted(final Description description) {
+		this.events.add(new Event(EventType.STARTED, description, null));
+	}
+
+	@Override
+	public void testFailure(final Failure failure) {
+		this.events.add(new Event(EventType.FAILURE, failure.getDescription(), failure));
+	}
+
+	@Override
+	public void testAssumptionFailure(final Failure failure) {
+		this.events.add(new Event(EventType.ASSUMPTION_FAILURE, failure.getDescription(), failure));
+	}
+
+	@Override
+	public void testIgnored(final Description description) {
+		this.events.add(new Event(EventType.IGNORED, description, null));
+	}
+
+	@Override
+	public void testFinished(final Description description) {
+		this.events.add(new Event(EventType.FINISHED, description, null));
+	}
+
+	void replayTo(final RunNotifier notifier) {
+		for (final Event event : this.events) {
+			switch (event.type) {
+			case STARTED:
+				notifier.fireTestStarted(event.description);
+				break;
+			case FAILURE:
+				notifier.fireTestFailure(event.failure);
+				break;
+			case ASSUMPTION_FAILURE:
+				notifier.fireTestAssumptionFailed(event.failure);
+				break;
+			case IGNORED:
+				notifier.fireTestIgnored(event.description);
+				break;
+			case FINISHED:
+				notifier.fireTestFinished(event.description);
+				break;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.greghaskins.parametric;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runners.model.InitializationError;
+
+class ResultCache {
+
+	static final String ENABLED_PROPERTY = "parametric.incremental";
+	static final String DIRECTORY_PROPERTY = "parametric.incremental.dir";
+
+	private final File file;
+	private final String classHash;
+	private final ConcurrentMap<String, Boolean> passed = new ConcurrentHashMap<String, Boolean>();
+	private volatile boolean changed;
+
+	ResultCache(final File file, final String classHash) throws IOException {
+		this.file = file;
+		this.classHash = classHash;
+		load();
+	}
+
+	static ResultCache forTestClass(final Class<?> testClass) throws InitializationError {
+		final IncrementalRun annotation = testClass.getAnnotation(IncrementalRun.class);
+		if (annotation == null || "false".equals(System.getProperty(ENABLED_PROPERTY))) {
+			return null;
+		}
+		final File directory = new File(System.getProperty(DIRECTORY_PROPERTY,
+				annotation.directory()));
+		try {
+			final String classHash = hashBytecode(testClass, annotation.dependsOn());
+			if (classHash == null) {
+				return null;
+			}
+			return new ResultCache(new File(directory, testClass.getName() + ".results"),
+					classHash);
+		} catch (final IOException e) {
+			throw new InitializationError(e);
+		}
+	}
+
+	private static String hashBytecode(final Class<?> testClass, final Class<?>[] dependencies)
+			throws IOException {
+		final MessageDigest digest = Hashing.newDigest();
+		for (Class<?> type = testClass; type != null && type != Object.class; type = type
+				.getSuperclass()) {
+			if (!Hashing.updateWithBytecode(digest, type)) {
+				return null;
+			}
+		}
+		for (final Class<?> dependency : dependencies) {
+			if (!Hashing.updateWithBytecode(digest, dependency)) {
+				return null;
+			}
+		}
+		return Hashing.hex(digest.digest());
+	}
+
+	static String keyFor(final String caseIdentity, final String methodName) {
+		return Hashing.hash(methodName + "\u0000" + caseIdentity);
+	}
+
+	private void load() throws IOException {
+		if (!this.file.isFile()) {
+			return;
+		}
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(this.file), "UTF-8"));
+		try {
+			if (!this.classHash.equals(reader.readLine())) {
+				this.changed = true;
+				return;
+			}
+			String key;
+			while ((key = reader.readLine()) != null) {
+				this.passed.put(key, Boolean.TRUE);
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	boolean hasPassed(final String key) {
+		return this.passed.containsKey(key);
+	}
+
+	void running(final String key) {
+		if (this.passed.remove(key) != null) {
+			this.changed = true;
+		}
+	}
+
+	void passed(final String key) {
+		this.passed.put(key, Boolean.TRUE);
+		this.changed = true;
+	}
+
+	synchronized void save() throws IOException {
+		if (!this.changed) {
+			return;
+		}
+		final File written = CacheFiles.newTemporaryFile(this.file);
+		try {
+			final Writer writer = new OutputStreamWriter(new FileOutputStream(written), "UTF-8");
+			try {
+				writer.write(this.classHash);
+				writer.write('\n');
+				for (final String key : this.passed.keySet()) {
+					writer.write(key);
+					writer.write('\n');
+				}
+			} finally {
+				writer.close();
+			}
+			CacheFiles.replace(written, this.file);
+		} finally {
+			written.delete();
+		}
+		this.changed = false;
+	}
+
+}
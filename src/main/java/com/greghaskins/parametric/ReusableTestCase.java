@@ -0,0 +1,19 @@
+package com.greghaskins.parametric;
+
+/**
+ * Implemented by a {@link Parametric} test class whose instances are reused
+ * across test cases. Its {@link TestCases} methods return a lightweight
+ * parameter object {@code P} for each case rather than a test class
+ * instance. Instances are created with the public no-argument constructor,
+ * kept in a pool, and bound to a case before it runs, so only as many exist
+ * as there are cases running at once.
+ */
+public interface ReusableTestCase<P> {
+
+	/**
+	 * Prepares this instance to run the case described by {@code parameters}.
+	 * Any state left over from a previous case must be reset here.
+	 */
+	void bind(P parameters);
+
+}
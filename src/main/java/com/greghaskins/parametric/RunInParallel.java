@@ -0,0 +1,32 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the test cases of a {@link Parametric} test class on a pool of worker
+ * threads. Results are still reported one case at a time, in the order the
+ * cases were declared.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RunInParallel {
+
+	/**
+	 * Size of the thread pool, or with {@link #virtualThreads()} the maximum
+	 * number of cases running at once. When zero (the default) the
+	 * {@code parametric.threads} system property is used if set, otherwise
+	 * the number of available processors (256 for virtual threads).
+	 */
+	int threads() default 0;
+
+	/**
+	 * Run each test case on its own virtual thread, for cases that spend most
+	 * of their time blocked on I/O. On JVMs without virtual threads this falls
+	 * back to a pool of {@link #threads()} platform threads.
+	 */
+	boolean virtualThreads() default false;
+
+}
@@ -0,0 +1,33 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the test methods of each case of a {@link Parametric} test class on a
+ * pool of worker threads. {@code @Before} and {@code @After} methods still run
+ * around each test method, and {@code @BeforeClass} and {@code @AfterClass}
+ * around all of them. Results are reported in declaration order.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RunMethodsInParallel {
+
+	/**
+	 * Size of the thread pool. When zero (the default) the
+	 * {@code parametric.threads} system property is used if set, otherwise
+	 * the number of available processors.
+	 */
+	int threads() default 0;
+
+	/**
+	 * Whether the test case instance may be used by several test methods at
+	 * once. If not, each worker thread uses its own copy of the case: a pooled
+	 * instance bound to the same parameters for a {@link ReusableTestCase},
+	 * or otherwise the result of the class's public {@code clone()} method.
+	 */
+	boolean threadSafe() default false;
+
+}
@@ -0,0 +1,38 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs only a random sample of the cases of each {@link TestCases} method of
+ * a {@link Parametric} test class. Give either {@code count} or
+ * {@code fraction}. The {@code parametric.sample.count},
+ * {@code parametric.sample.fraction} and {@code parametric.sample.seed}
+ * system properties take precedence, and setting either of the first two
+ * samples every class, even without this annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Sample {
+
+	/**
+	 * Run this many cases from each {@link TestCases} method, chosen by
+	 * reservoir sampling.
+	 */
+	int count() default 0;
+
+	/**
+	 * Run each case with this probability, between 0 and 1.
+	 */
+	double fraction() default 0;
+
+	/**
+	 * Seed for choosing the sample. The same seed chooses the same cases from
+	 * the same data. 0 picks a new seed for each run, which is printed if any
+	 * test fails.
+	 */
+	long seed() default 0;
+
+}
@@ -0,0 +1,159 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.runners.model.InitializationError;
+
+final class Sampling {
+
+	static final String COUNT_PROPERTY = "parametric.sample.count";
+	static final String FRACTION_PROPERTY = "parametric.sample.fraction";
+	static final String SEED_PROPERTY = "parametric.sample.seed";
+
+	static final Sampling NONE = new Sampling(0, 0, 0);
+
+	private final int count;
+	private final double fraction;
+	private final long seed;
+
+	Sampling(final int count, final double fraction, final long seed) {
+		this.count = count;
+		this.fraction = fraction;
+		this.seed = seed;
+	}
+
+	static Sampling forTestClass(final Class<?> testClass) throws InitializationError {
+		final Sample annotation = testClass.getAnnotation(Sample.class);
+		final String countProperty = System.getProperty(COUNT_PROPERTY);
+		final String fractionProperty = System.getProperty(FRACTION_PROPERTY);
+		if (annotation == null && countProperty == null && fractionProperty == null) {
+			return NONE;
+		}
+		int count = annotation != null ? annotation.count() : 0;
+		double fraction = annotation != null ? annotation.fraction() : 0;
+		long seed = annotation != null ? annotation.seed() : 0;
+		try {
+			if (countProperty != null || fractionProperty != null) {
+				count = countProperty != null ? Integer.parseInt(countProperty.trim()) : 0;
+				fraction = fractionProperty != null ? Double.parseDouble(fractionProperty.trim())
+						: 0;
+			}
+			final String seedProperty = System.getProperty(SEED_PROPERTY);
+			if (seedProperty != null) {
+				seed = Long.parseLong(seedProperty.trim());
+			}
+		} catch (final NumberFormatException e) {
+			throw invalidSampleException(testClass);
+		}
+		if (count < 0 || fraction < 0 || fraction > 1 || (count > 0) == (fraction > 0)) {
+			throw invalidSampleException(testClass);
+		}
+		if (seed == 0) {
+			seed = new Random().nextLong() | 1;
+		}
+		return new Sampling(count, fraction, seed);
+	}
+
+	private static InitializationError invalidSampleException(final Class<?> testClass) {
+		return new InitializationError(MessageFormat.format(
+				"Invalid sample for {0}: give either a count above 0 or a fraction "
+						+ "between 0 and 1 (see {1} and {2})", testClass.getName(),
+				COUNT_PROPERTY, FRACTION_PROPERTY));
+	}
+
+	boolean isSampling() {
+		return this.count > 0 || this.fraction > 0;
+	}
+
+	long getSeed() {
+		return this.seed;
+	}
+
+	String describe() {
+		final String size = this.count > 0 ? MessageFormat.format("{0} cases", this.count)
+				: MessageFormat.format("a fraction of {0}", this.fraction);
+		return MessageFormat.format("sample of {0} per @TestCases method, seed {1} "
+				+ "(rerun with -D{2}={1})", size, Long.toString(this.seed), SEED_PROPERTY);
+	}
+
+	/**
+	 * Starts choosing a sample from the cases of one {@link TestCases} method.
+	 * Each method has its own random sequence, so its sample does not depend
+	 * on the order in which methods are sampled.
+	 */
+	<T> Selection<T> select(final Method testCasesMethod) {
+		return new Selection<T>(this.count, this.fraction, new Random(this.seed * 31
+				+ testCasesMethod.getName().hashCode()));
+	}
+
+	static final class Selection<T> {
+
+		private final int count;
+		private final double fraction;
+		private final Random random;
+		private final List<Selected<T>> selected = new ArrayList<Selected<T>>();
+		private int offered;
+
+		private Selection(final int count, final double fraction, final Random random) {
+			this.count = count;
+			this.fraction = fraction;
+			this.random = random;
+		}
+
+		/**
+		 * Considers the next case. Cases must be offered in order; only those
+		 * chosen so far are held.
+		 */
+		void offer(final T testCase) {
+			final int index = this.offered++;
+			if (this.fraction > 0) {
+				if (this.random.nextDouble() < this.fraction) {
+					this.selected.add(new Selected<T>(index, testCase));
+				}
+			} else if (this.selected.size() < this.count) {
+				this.selected.add(new Selected<T>(index, testCase));
+			} else {
+				final int replaced = this.random.nextInt(index + 1);
+				if (replaced < this.count) {
+					this.selected.set(replaced, new Selected<T>(index, testCase));
+				}
+			}
+		}
+
+		int getOffered() {
+			return this.offered;
+		}
+
+		/**
+		 * The chosen cases, in the order they were offered.
+		 */
+		List<Selected<T>> getSelected() {
+			final List<Selected<T>> inOrder = new ArrayList<Selected<T>>(this.selected);
+			Collections.sort(inOrder, new Comparator<Selected<T>>() {
+
+				public int compare(final Selected<T> left, final Selected<T> right) {
+					return left.index < right.index ? -1 : (left.index == right.index ? 0 : 1);
+				}
+			});
+			return inOrder;
+		}
+	}
+
+	static final class Selected<T> {
+
+		final int index;
+		final T testCase;
+
+		Selected(final int index, final T testCase) {
+			this.index = index;
+			this.testCase = testCase;
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.greghaskins.parametric;
+
+import java.text.MessageFormat;
+
+import org.junit.runners.model.InitializationError;
+
+final class Sharding {
+
+	static final String INDEX_PROPERTY = "parametric.shard.index";
+	static final String COUNT_PROPERTY = "parametric.shard.count";
+
+	static final Sharding NONE = new Sharding(0, 1);
+
+	private final int index;
+	private final int count;
+
+	Sharding(final int index, final int count) {
+		this.index = index;
+		this.count = count;
+	}
+
+	static Sharding fromSystemProperties() throws InitializationError {
+		final String countProperty = System.getProperty(COUNT_PROPERTY);
+		if (countProperty == null) {
+			return NONE;
+		}
+		final String indexProperty = System.getProperty(INDEX_PROPERTY, "0");
+		final int count;
+		final int index;
+		try {
+			count = Integer.parseInt(countProperty.trim());
+			index = Integer.parseInt(indexProperty.trim());
+		} catch (final NumberFormatException e) {
+			throw invalidShardException(indexProperty, countProperty);
+		}
+		if (count < 1 || index < 0 || index >= count) {
+			throw invalidShardException(indexProperty, countProperty);
+		}
+		return new Sharding(index, count);
+	}
+
+	private static InitializationError invalidShardException(final String index,
+			final String count) {
+		return new InitializationError(MessageFormat.format(
+				"Invalid shard {0} of {1}: {2} must be between 0 and {3} - 1", index, count,
+				INDEX_PROPERTY, COUNT_PROPERTY));
+	}
+
+	boolean isSharded() {
+		return this.count > 1;
+	}
+
+	boolean includes(final String caseIdentity) {
+		if (!isSharded()) {
+			return true;
+		}
+		return shardOf(caseIdentity, this.count) == this.index;
+	}
+
+	static int shardOf(final String caseIdentity, final int count) {
+		int hash = caseIdentity.hashCode();
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return (hash & Integer.MAX_VALUE) % count;
+	}
+
+}
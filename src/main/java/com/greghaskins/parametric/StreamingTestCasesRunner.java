@@ -0,0 +1,314 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.TestClass;
+
+class StreamingTestCasesRunner<T> extends Runner implements Filterable {
+
+	private final Method testCasesMethod;
+	private final Iterable<T> testCases;
+	private final ParametricSettings settings;
+	private final List<Description> caseDescriptions;
+	private final List<Filter> filters = new ArrayList<Filter>();
+
+	StreamingTestCasesRunner(final Method testCasesMethod, final Iterable<T> testCases)
+			throws InitializationError {
+		this(testCasesMethod, testCases, ParametricSettings.DEFAULT);
+	}
+
+	StreamingTestCasesRunner(final Method testCasesMethod, final Iterable<T> testCases,
+			final ParametricSettings settings) throws InitializationError {
+		this.testCasesMethod = testCasesMethod;
+		this.testCases = testCases;
+		this.settings = settings;
+		if (settings.getSampling().isSampling()) {
+			this.caseDescriptions = describeSampledTestCases(testCasesMethod, testCases,
+					CaseNamer.forMethod(testCasesMethod), settings);
+		} else {
+			this.caseDescriptions = describeTestCases(testCasesMethod, testCases,
+					CaseNamer.forMethod(testCasesMethod), settings);
+		}
+	}
+
+	private static <T> List<Description> describeTestCases(final Method testCasesMethod,
+			final Iterable<T> testCases, final CaseNamer namer, final ParametricSettings settings)
+			throws InitializationError {
+		final CaseSelection selection = settings.getSelection();
+		if (testCases instanceof IndexedTestCases) {
+			return describeIndexedTestCases(testCasesMethod, (IndexedTestCases<T>) testCases,
+					namer, settings);
+		}
+		final List<Description> descriptions = new ArrayList<Description>();
+		Class<?> validatedClass = null;
+		int index = 0;
+		for (final T testCase : testCases) {
+			Description description = null;
+			if (selection.includesIndex(index)) {
+				final String name = namer.nameFor(testCase, index);
+				if (settings.includes(testCase, name, namer)) {
+					final Class<?> caseClass = Parametric.testClassFor(testCase, testCasesMethod);
+					if (caseClass != validatedClass) {
+						new ParametricRunner<T>(caseClass, testCase, name);
+						validatedClass = caseClass;
+					}
+					description = describeTestCase(caseClass, name, settings);
+				}
+			}
+			descriptions.add(description);
+			if (++index > selection.getLastIndex()) {
+				break;
+			}
+		}
+		return descriptions;
+	}
+
+	/**
+	 * Only the cases at selected indexes are visited. When names come from
+	 * the index alone, only the first included case is created, to validate
+	 * the test class, unless the cases are sharded by their state. A case
+	 * that cannot be created is described by its index, so that it fails on
+	 * its own when the cases run.
+	 */
+	private static <T> List<Description> describeIndexedTestCases(final Method testCasesMethod,
+			final IndexedTestCases<T> testCases, final CaseNamer namer,
+			final ParametricSettings settings) throws InitializationError {
+		final CaseSelection selection = settings.getSelection();
+		final int size = testCases.size();
+		final List<Description> descriptions = new ArrayList<Description>(Collections.nCopies(
+				size, (Description) null));
+		Class<?> caseClass = null;
+		for (int index = selection.nextIndex(0); index >= 0 && index < size; index = selection
+				.nextIndex(index + 1)) {
+			T testCase = null;
+			final String name;
+			try {
+				if (namer.namesByIndex()) {
+					name = namer.nameForIndex(index);
+					if (!selection.includesName(name)) {
+						continue;
+					}
+					if (caseClass == null || settings.getSharding().isSharded()) {
+						testCase = testCases.get(index);
+					}
+				} else {
+					testCase = testCases.get(index);
+					name = namer.nameFor(testCase, index);
+				}
+				if (!settings.includes(testCase, name, namer)) {
+					continue;
+				}
+			} catch (final IllegalStateException e) {
+				if (settings.includes(namer.nameForIndex(index))) {
+					descriptions.set(index, describeUnreadableTestCase(namer, index));
+				}
+				continue;
+			}
+			if (testCase != null) {
+				final Class<?> testCaseClass = Parametric.testClassFor(testCase, testCasesMethod);
+				if (testCaseClass != caseClass) {
+					new ParametricRunner<T>(testCaseClass, testCase, name);
+					caseClass = testCaseClass;
+				}
+			}
+			descriptions.set(index, describeTestCase(caseClass, name, settings));
+		}
+		return descriptions;
+	}
+
+	/**
+	 * Only the sampled cases are held until the end of the iteration. Indexed
+	 * sources are sampled by position, creating just the sampled cases.
+	 */
+	private static <T> List<Description> describeSampledTestCases(final Method testCasesMethod,
+			final Iterable<T> testCases, final CaseNamer namer, final ParametricSettings settings)
+			throws InitializationError {
+		final Sampling.Selection<T> selection = settings.getSampling().select(testCasesMethod);
+		if (testCases instanceof IndexedTestCases) {
+			for (int index = 0; index < ((IndexedTestCases<T>) testCases).size(); index++) {
+				selection.offer(null);
+			}
+		} else {
+			for (final T testCase : testCases) {
+				selection.offer(testCase);
+			}
+		}
+
+		final List<Description> descriptions = new ArrayList<Description>(Collections.nCopies(
+				selection.getOffered(), (Description) null));
+		Class<?> validatedClass = null;
+		for (final Sampling.Selected<T> selected : selection.getSelected()) {
+			if (!settings.getSelection().includesIndex(selected.index)) {
+				continue;
+			}
+			final T testCase;
+			try {
+				testCase = selected.testCase != null ? selected.testCase
+						: ((IndexedTestCases<T>) testCases).get(selected.index);
+			} catch (final IllegalStateException e) {
+				descriptions.set(selected.index, describeUnreadableTestCase(namer, selected.index));
+				continue;
+			}
+			final String name = namer.nameFor(testCase, selected.index);
+			if (!settings.includes(testCase, name, namer)) {
+				continue;
+			}
+			final Class<?> caseClass = Parametric.testClassFor(testCase, testCasesMethod);
+			if (caseClass != validatedClass) {
+				new ParametricRunner<T>(caseClass, testCase, name);
+				validatedClass = caseClass;
+			}
+			descriptions.set(selected.index, describeTestCase(caseClass, name, settings));
+		}
+		return descriptions;
+	}
+
+	private static Description describeUnreadableTestCase(final CaseNamer namer,
+			final int index) {
+		return Description.createSuiteDescription(namer.nameForIndex(index));
+	}
+
+	private static Description describeTestCase(final Class<?> caseClass, final String name,
+			final ParametricSettings settings) {
+		if (settings.getDescriptionLayout() != null) {
+			return DescriptionLayout.describeCase(caseClass, name);
+		}
+		final TestClass testClass = TestClassMetadata.forClass(caseClass).getTestClass();
+		final Description description = Description.createSuiteDescription(name,
+				testClass.getAnnotations());
+		for (final FrameworkMethod method : testClass.getAnnotatedMethods(Test.class)) {
+			description.addChild(Description.createTestDescription(testClass.getJavaClass(),
+					method.getName() + name, method.getAnnotations()));
+		}
+		return description;
+	}
+
+	String getTestCasesMethodName() {
+		return this.testCasesMethod.getName();
+	}
+
+	@Override
+	public Description getDescription() {
+		final Description description = Description.createSuiteDescription(MessageFormat.format(
+				"{0}()", this.testCasesMethod.getName()));
+		for (final Description caseDescription : this.caseDescriptions) {
+			if (caseDescription != null) {
+				description.addChild(caseDescription);
+			}
+		}
+		final DescriptionLayout layout = this.settings.getDescriptionLayout();
+		return layout != null ? layout.group(description) : description;
+	}
+
+	@Override
+	public void run(final RunNotifier notifier) {
+		if (this.testCases instanceof IndexedTestCases) {
+			runIndexedTestCases((IndexedTestCases<T>) this.testCases, notifier);
+			return;
+		}
+		final Iterator<T> iterator = this.testCases.iterator();
+		for (final Description caseDescription : this.caseDescriptions) {
+			if (!iterator.hasNext()) {
+				if (caseDescription == null) {
+					continue;
+				}
+				notifier.fireTestFailure(new Failure(caseDescription, new IllegalStateException(
+						MessageFormat.format("{0}.{1}() produced fewer test cases than before",
+								this.testCasesMethod.getDeclaringClass().getName(),
+								this.testCasesMethod.getName()))));
+				continue;
+			}
+			final T testCase = iterator.next();
+			if (caseDescription != null) {
+				runTestCase(testCase, caseDescription, notifier);
+			}
+		}
+	}
+
+	private void runIndexedTestCases(final IndexedTestCases<T> indexedTestCases,
+			final RunNotifier notifier) {
+		for (int index = 0; index < this.caseDescriptions.size(); index++) {
+			final Description caseDescription = this.caseDescriptions.get(index);
+			if (caseDescription == null) {
+				continue;
+			}
+			final T testCase;
+			try {
+				testCase = indexedTestCases.get(index);
+			} catch (final IllegalStateException e) {
+				notifier.fireTestFailure(new Failure(caseDescription, e));
+				continue;
+			}
+			runTestCase(testCase, caseDescription, notifier);
+		}
+	}
+
+	private void runTestCase(final T testCase, final Description caseDescription,
+			final RunNotifier notifier) {
+		final ParametricRunner<T> runner;
+		try {
+			final String name = this.settings.getDescriptionLayout() != null ? DescriptionLayout
+					.caseName(caseDescription) : caseDescription.getDisplayName();
+			runner = Parametric.createRunner(testCase, name, this.testCasesMethod, this.settings);
+			for (final Filter filter : this.filters) {
+				filter.apply(runner);
+			}
+		} catch (final NoTestsRemainException e) {
+			return;
+		} catch (final InitializationError e) {
+			notifier.fireTestFailure(new Failure(caseDescription, e));
+			return;
+		}
+		runner.run(notifier);
+	}
+
+	public void filter(final Filter filter) throws NoTestsRemainException {
+		boolean anyRemaining = false;
+		for (int i = 0; i < this.caseDescriptions.size(); i++) {
+			final Description caseDescription = this.caseDescriptions.get(i);
+			if (caseDescription == null) {
+				continue;
+			}
+			final Description filtered = filterCaseDescription(caseDescription, filter);
+			this.caseDescriptions.set(i, filtered);
+			anyRemaining |= filtered != null;
+		}
+		this.filters.add(filter);
+		if (!anyRemaining) {
+			throw new NoTestsRemainException();
+		}
+	}
+
+	private static Description filterCaseDescription(final Description caseDescription,
+			final Filter filter) {
+		if (!filter.shouldRun(caseDescription)) {
+			return null;
+		}
+		if (caseDescription.isTest()) {
+			return caseDescription;
+		}
+		final Description filtered = caseDescription.childlessCopy();
+		for (final Description child : caseDescription.getChildren()) {
+			if (filter.shouldRun(child)) {
+				filtered.addChild(child);
+			}
+		}
+		return filtered.getChildren().isEmpty() ? null : filtered;
+	}
+
+}
@@ -9,4 +9,16 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 public @interface TestCases {
 
-}
\ No newline at end of file
+	/**
+	 * Pull test cases from the returned Iterable one at a time while the
+	 * suite runs instead of holding a runner for every case. The Iterable is
+	 * iterated once to describe the cases and once more to run them.
+	 */
+	boolean streaming() default false;
+
+	/**
+	 * How the returned test cases are named in reports.
+	 */
+	CaseNaming naming() default CaseNaming.DEFAULT;
+
+}
@@ -0,0 +1,84 @@
+package com.greghaskins.parametric;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * What is known about a test class, shared by every runner of the class. The
+ * cache holds neither the class nor its metadata strongly: metadata lives as
+ * long as a runner refers to it, so test classes and their class loaders can
+ * be unloaded once their suite is gone.
+ */
+final class TestClassMetadata {
+
+	private static final Map<Class<?>, Reference<TestClassMetadata>> CACHE = new WeakHashMap<Class<?>, Reference<TestClassMetadata>>();
+
+	private final TestClass testClass;
+	private final ConcurrentMap<FrameworkMethod, Description> methodDescriptions = new ConcurrentHashMap<FrameworkMethod, Description>();
+	private final ConcurrentMap<FrameworkMethod, MethodPlan> methodPlans = new ConcurrentHashMap<FrameworkMethod, MethodPlan>();
+	private volatile List<Throwable> validationErrors;
+
+	private TestClassMetadata(final Class<?> javaClass) {
+		this.testClass = new TestClass(javaClass);
+	}
+
+	static TestClassMetadata forClass(final Class<?> javaClass) {
+		synchronized (CACHE) {
+			final Reference<TestClassMetadata> cached = CACHE.get(javaClass);
+			final TestClassMetadata existing = cached != null ? cached.get() : null;
+			if (existing != null) {
+				return existing;
+			}
+			final TestClassMetadata created = new TestClassMetadata(javaClass);
+			CACHE.put(javaClass, new WeakReference<TestClassMetadata>(created));
+			return created;
+		}
+	}
+
+	TestClass getTestClass() {
+		return this.testClass;
+	}
+
+	/**
+	 * One description of each test method, shared by every case of the class.
+	 */
+	Description describeMethod(final FrameworkMethod method) {
+		final Description existing = this.methodDescriptions.get(method);
+		if (existing != null) {
+			return existing;
+		}
+		final Description created = Description.createTestDescription(
+				this.testClass.getJavaClass(), method.getName(), method.getAnnotations());
+		final Description raced = this.methodDescriptions.putIfAbsent(method, created);
+		return raced != null ? raced : created;
+	}
+
+	MethodPlan planFor(final FrameworkMethod method) {
+		final MethodPlan existing = this.methodPlans.get(method);
+		if (existing != null) {
+			return existing;
+		}
+		final MethodPlan created = MethodPlan.forMethod(this.testClass, method);
+		final MethodPlan raced = this.methodPlans.putIfAbsent(method, created);
+		return raced != null ? raced : created;
+	}
+
+	List<Throwable> getValidationErrors() {
+		return this.validationErrors;
+	}
+
+	void setValidationErrors(final List<Throwable> validationErrors) {
+		this.validationErrors = Collections.unmodifiableList(validationErrors);
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.greghaskins.parametric;
+
+/**
+ * Resources used by one test method of one test case, or by a whole test case
+ * when {@link #getMethodName()} is {@code null}. CPU time and allocated bytes
+ * are -1 when the JVM cannot measure them.
+ */
+public final class TestMetrics {
+
+	private final String testCasesMethodName;
+	private final String caseName;
+	private final String methodName;
+	private final long wallNanos;
+	private final long cpuNanos;
+	private final long allocatedBytes;
+
+	TestMetrics(final String testCasesMethodName, final String caseName, final String methodName,
+			final long wallNanos, final long cpuNanos, final long allocatedBytes) {
+		this.testCasesMethodName = testCasesMethodName;
+		this.caseName = caseName;
+		this.methodName = methodName;
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public String getTestCasesMethodName() {
+		return this.testCasesMethodName;
+	}
+
+	public String getCaseName() {
+		return this.caseName;
+	}
+
+	public String getMethodName() {
+		return this.methodName;
+	}
+
+	public long getWallNanos() {
+		return this.wallNanos;
+	}
+
+	public long getCpuNanos() {
+		return this.cpuNanos;
+	}
+
+	public long getAllocatedBytes() {
+		return this.allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "{\"type\":\"test\",\"testCases\":" + Json.quote(this.testCasesMethodName)
+				+ ",\"case\":" + Json.quote(this.caseName) + ",\"method\":"
+				+ Json.quote(this.methodName) + ",\"wallNanos\":" + this.wallNanos
+				+ ",\"cpuNanos\":" + this.cpuNanos + ",\"allocatedBytes\":"
+				+ this.allocatedBytes + "}";
+	}
+
+}
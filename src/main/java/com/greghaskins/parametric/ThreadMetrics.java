@@ -0,0 +1,114 @@
+package com.greghaskins.parametric;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+final class ThreadMetrics {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+	private static final Method ALLOCATED_BYTES = findAllocatedBytesMethod();
+
+	private final long wallNanos;
+	private final long cpuNanos;
+	private final long allocatedBytes;
+
+	private ThreadMetrics(final long wallNanos, final long cpuNanos, final long allocatedBytes) {
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	private static boolean enableCpuTime() {
+		try {
+			if (THREADS.isCurrentThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+				THREADS.setThreadCpuTimeEnabled(true);
+			}
+			return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+		} catch (final UnsupportedOperationException e) {
+			return false;
+		} catch (final SecurityException e) {
+			return false;
+		}
+	}
+
+	private static Method findAllocatedBytesMethod() {
+		try {
+			final Class<?> extendedBeanType = Class.forName("com.sun.management.ThreadMXBean");
+			if (!extendedBeanType.isInstance(THREADS)) {
+				return null;
+			}
+			final Method method = extendedBeanType.getMethod("getThreadAllocatedBytes", long.class);
+			method.invoke(THREADS, Thread.currentThread().getId());
+			return method;
+		} catch (final Exception e) {
+			return null;
+		}
+	}
+
+	static ThreadMetrics now() {
+		return new ThreadMetrics(System.nanoTime(), currentCpuNanos(), currentAllocatedBytes());
+	}
+
+	private static long currentCpuNanos() {
+		return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+	}
+
+	private static long currentAllocatedBytes() {
+		if (ALLOCATED_BYTES == null) {
+			return -1;
+		}
+		try {
+			return (Long) ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+		} catch (final Exception e) {
+			return -1;
+		}
+	}
+
+	TestMetrics since(final ThreadMetrics start, final String testCasesMethodName,
+			final String caseName, final String methodName) {
+		return new TestMetrics(testCasesMethodName, caseName, methodName, this.wallNanos
+				- start.wallNanos, difference(this.cpuNanos, start.cpuNanos), difference(
+				this.allocatedBytes, start.allocatedBytes));
+	}
+
+	/**
+	 * Like {@link #since(ThreadMetrics, String, String, String)}, adding the
+	 * CPU time and allocation of work done for the same test on
+	 * {@code otherThreads}, which the counters of this thread never see.
+	 */
+	TestMetrics since(final ThreadMetrics start, final OtherThreads otherThreads,
+			final String testCasesMethodName, final String caseName, final String methodName) {
+		final TestMetrics own = since(start, testCasesMethodName, caseName, methodName);
+		synchronized (otherThreads) {
+			return new TestMetrics(testCasesMethodName, caseName, methodName,
+					own.getWallNanos(), sum(own.getCpuNanos(), otherThreads.cpuNanos), sum(own
+							.getAllocatedBytes(), otherThreads.allocatedBytes));
+		}
+	}
+
+	private static long difference(final long end, final long start) {
+		return end < 0 || start < 0 ? -1 : end - start;
+	}
+
+	private static long sum(final long left, final long right) {
+		return left < 0 || right < 0 ? -1 : left + right;
+	}
+
+	/**
+	 * Totals of the CPU time and allocation measured on worker threads, such
+	 * as those running the methods of one case in parallel.
+	 */
+	static final class OtherThreads {
+
+		private long cpuNanos;
+		private long allocatedBytes;
+
+		synchronized void add(final TestMetrics metrics) {
+			this.cpuNanos = sum(this.cpuNanos, metrics.getCpuNanos());
+			this.allocatedBytes = sum(this.allocatedBytes, metrics.getAllocatedBytes());
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.greghaskins.parametric;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestTimedOutException;
+
+final class TimeoutWatchdog {
+
+	static final String PROPERTY = "parametric.watchdogTimeouts";
+
+	static final TimeoutWatchdog INSTANCE = new TimeoutWatchdog();
+
+	private volatile ExecutorService workers;
+
+	private TimeoutWatchdog() {
+	}
+
+	static TimeoutWatchdog forTestClass(final Class<?> testClass) {
+		if (testClass.isAnnotationPresent(WatchdogTimeouts.class) || Boolean.getBoolean(PROPERTY)) {
+			return INSTANCE;
+		}
+		return null;
+	}
+
+	/**
+	 * The workers are started as needed and reused by the timed tests of
+	 * every test class. A worker left running a test that overran is never
+	 * handed another one; the pool starts a new worker instead. Workers are
+	 * daemons and stop once idle for a minute, so they never keep the JVM
+	 * running.
+	 */
+	private ExecutorService workers() {
+		ExecutorService existing = this.workers;
+		if (existing == null) {
+			synchronized (this) {
+				existing = this.workers;
+				if (existing == null) {
+					existing = Executors.newCachedThreadPool(new WorkerThreadFactory(
+							"parametric-timeout"));
+					this.workers = existing;
+				}
+			}
+		}
+		return existing;
+	}
+
+	Statement withTimeout(final Statement statement, final long timeoutMillis) {
+		return new Statement() {
+
+			@Override
+			public void evaluate() throws Throwable {
+				new TimedCall(statement).evaluate(timeoutMillis);
+			}
+		};
+	}
+
+	/**
+	 * One timed evaluation, run on a worker while the calling thread waits
+	 * for it. As with JUnit's {@code FailOnTimeout}, the deadline counts from
+	 * when the test starts, and a test that overruns is interrupted and
+	 * abandoned, failing with the stack trace it was stuck at.
+	 */
+	private final class TimedCall implements Callable<Throwable> {
+
+		private final Statement statement;
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile Thread thread;
+
+		TimedCall(final Statement statement) {
+			this.statement = statement;
+		}
+
+		public Throwable call() {
+			this.thread = Thread.currentThread();
+			this.started.countDown();
+			try {
+				this.statement.evaluate();
+				return null;
+			} catch (final Throwable e) {
+				return e;
+			}
+		}
+
+		void evaluate(final long timeoutMillis) throws Throwable {
+			final Future<Throwable> result = workers().submit(this);
+			final Throwable thrown;
+			try {
+				this.started.await();
+				thrown = result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (final TimeoutException e) {
+				throw timedOut(result, timeoutMillis);
+			} catch (final InterruptedException e) {
+				result.cancel(true);
+				throw e;
+			}
+			if (thrown != null) {
+				throw thrown;
+			}
+		}
+
+		private TestTimedOutException timedOut(final Future<Throwable> result,
+				final long timeoutMillis) {
+			final StackTraceElement[] stackTrace = this.thread.getStackTrace();
+			result.cancel(true);
+			final TestTimedOutException exception = new TestTimedOutException(timeoutMillis,
+					TimeUnit.MILLISECONDS);
+			exception.setStackTrace(stackTrace);
+			return exception;
+		}
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.greghaskins.parametric;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+final class VirtualThreads {
+
+	private static final Method NEW_EXECUTOR = findNewExecutorMethod();
+
+	private VirtualThreads() {
+	}
+
+	private static Method findNewExecutorMethod() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (final NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	static boolean isAvailable() {
+		return NEW_EXECUTOR != null;
+	}
+
+	static ExecutorService newExecutor() {
+		if (NEW_EXECUTOR == null) {
+			return null;
+		}
+		try {
+			return (ExecutorService) NEW_EXECUTOR.invoke(null);
+		} catch (final Exception e) {
+			return null;
+		}
+	}
+
+}
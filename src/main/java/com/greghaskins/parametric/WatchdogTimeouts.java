@@ -0,0 +1,21 @@
+package com.greghaskins.parametric;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs each {@code @Test(timeout = ...)} call on a pooled worker thread that
+ * is reused by later timed tests, instead of starting a new thread for every
+ * timed test. A test that overruns fails with the same
+ * {@link org.junit.runners.model.TestTimedOutException} as in JUnit; it is
+ * interrupted and abandoned, and only then is its worker replaced. Setting
+ * the {@code parametric.watchdogTimeouts} system property to {@code true} has
+ * the same effect for every test class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WatchdogTimeouts {
+
+}
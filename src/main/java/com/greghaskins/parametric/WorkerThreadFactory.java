@@ -0,0 +1,21 @@
+package com.greghaskins.parametric;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class WorkerThreadFactory implements ThreadFactory {
+
+	private final String prefix;
+	private final AtomicInteger count = new AtomicInteger();
+
+	WorkerThreadFactory(final String prefix) {
+		this.prefix = prefix;
+	}
+
+	public Thread newThread(final Runnable runnable) {
+		final Thread thread = new Thread(runnable, this.prefix + "-" + this.count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+}
@@ -0,0 +1,246 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunNotifier;
+
+public class CaseHistoryTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	static final List<Integer> executed = new ArrayList<Integer>();
+	static final List<Integer> failing = new ArrayList<Integer>();
+
+	@Ignore
+	@OrderByHistory
+	public static class LongestFirstTestClass {
+
+		private final int value;
+
+		public LongestFirstTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<LongestFirstTestClass> testCases() {
+			return Arrays.asList(new LongestFirstTestClass(1), new LongestFirstTestClass(2),
+					new LongestFirstTestClass(3), new LongestFirstTestClass(4));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.value);
+		}
+	}
+
+	@Ignore
+	@OrderByHistory(CaseOrder.FAILING_FIRST)
+	public static class SameNamesTestClass {
+
+		private final String method;
+
+		public SameNamesTestClass(final String method) {
+			this.method = method;
+		}
+
+		@TestCases
+		public static Iterable<SameNamesTestClass> first() {
+			return Arrays.asList(new SameNamesTestClass("first"));
+		}
+
+		@TestCases
+		public static Iterable<SameNamesTestClass> second() {
+			return Arrays.asList(new SameNamesTestClass("second"));
+		}
+
+		@Override
+		public String toString() {
+			return "same\tname\n";
+		}
+
+		@Test
+		public void something() {
+			if ("first".equals(this.method)) {
+				throw new AssertionError("fails");
+			}
+		}
+	}
+
+	@Ignore
+	@OrderByHistory(CaseOrder.FAILING_FIRST)
+	public static class FailingFirstTestClass {
+
+		private final int value;
+
+		public FailingFirstTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<FailingFirstTestClass> testCases() {
+			return Arrays.asList(new FailingFirstTestClass(1), new FailingFirstTestClass(2),
+					new FailingFirstTestClass(3), new FailingFirstTestClass(4));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.value);
+			if (failing.contains(this.value)) {
+				throw new AssertionError("fails");
+			}
+		}
+	}
+
+	@Before
+	public void setUp() {
+		System.setProperty(CaseHistory.DIRECTORY_PROPERTY, this.temporaryFolder.getRoot()
+				.getPath());
+		executed.clear();
+		failing.clear();
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(CaseHistory.DIRECTORY_PROPERTY);
+		System.clearProperty(CaseHistory.ENABLED_PROPERTY);
+	}
+
+	@Test
+	public void testCasesWithoutHistoryKeepTheirOrder() throws Exception {
+		run(LongestFirstTestClass.class);
+
+		assertThat(executed, contains(1, 2, 3, 4));
+	}
+
+	@Test
+	public void testRunRecordsEveryCase() throws Exception {
+		run(LongestFirstTestClass.class);
+
+		final File file = historyFile(LongestFirstTestClass.class);
+		final CaseHistory history = new CaseHistory(file, CaseOrder.LONGEST_FIRST);
+		assertThat(file.isFile(), equalTo(true));
+		assertThat(history.hasOutcome("testCases", "[1]"), equalTo(true));
+		assertThat(history.hasOutcome("testCases", "[4]"), equalTo(true));
+	}
+
+	@Test
+	public void testSlowestCasesRunFirst() throws Exception {
+		writeHistory(LongestFirstTestClass.class, "10\tfalse\ttestCases\t[1]",
+				"40\tfalse\ttestCases\t[2]", "30\tfalse\ttestCases\t[3]",
+				"20\tfalse\ttestCases\t[4]");
+
+		run(LongestFirstTestClass.class);
+
+		assertThat(executed, contains(2, 3, 4, 1));
+	}
+
+	@Test
+	public void testCasesWithoutHistoryCountAsAverageDuration() throws Exception {
+		writeHistory(LongestFirstTestClass.class, "10\tfalse\ttestCases\t[1]",
+				"50\tfalse\ttestCases\t[3]");
+
+		run(LongestFirstTestClass.class);
+
+		assertThat(executed, contains(3, 2, 4, 1));
+	}
+
+	@Test
+	public void testPreviouslyFailingCasesRunFirst() throws Exception {
+		failing.add(3);
+		run(FailingFirstTestClass.class);
+		executed.clear();
+
+		run(FailingFirstTestClass.class);
+
+		assertThat(executed, contains(3, 1, 2, 4));
+	}
+
+	@Test
+	public void testDeclaredOrderWhenDisabledBySystemProperty() throws Exception {
+		writeHistory(LongestFirstTestClass.class, "10\tfalse\ttestCases\t[1]",
+				"40\tfalse\ttestCases\t[2]");
+		System.setProperty(CaseHistory.ENABLED_PROPERTY, "false");
+
+		run(LongestFirstTestClass.class);
+
+		assertThat(executed, contains(1, 2, 3, 4));
+	}
+
+	@Test
+	public void testMalformedLinesAreIgnored() throws Exception {
+		writeHistory(LongestFirstTestClass.class, "garbage", "10\tfalse\ttestCases\t[1]",
+				"x\tfalse\ttestCases\t[3]", "40\tfalse\ttestCases\t[2]");
+
+		run(LongestFirstTestClass.class);
+
+		assertThat(executed, contains(2, 3, 4, 1));
+	}
+
+	@Test
+	public void testCasesOfDifferentMethodsWithTheSameNameAreKeptApart() throws Exception {
+		run(SameNamesTestClass.class);
+
+		final CaseHistory history = new CaseHistory(historyFile(SameNamesTestClass.class),
+				CaseOrder.FAILING_FIRST);
+		assertThat(history.hasOutcome("first", "[same\tname\n]"), equalTo(true));
+		assertThat(history.hasOutcome("second", "[same\tname\n]"), equalTo(true));
+	}
+
+	@Test
+	public void testCasesThatNoLongerExistAreDropped() throws Exception {
+		writeHistory(LongestFirstTestClass.class, "10\tfalse\ttestCases\t[1]",
+				"40\tfalse\ttestCases\t[gone]", "40\tfalse\totherCases\t[2]");
+
+		run(LongestFirstTestClass.class);
+
+		final CaseHistory history = new CaseHistory(historyFile(LongestFirstTestClass.class),
+				CaseOrder.LONGEST_FIRST);
+		assertThat(history.hasOutcome("testCases", "[1]"), equalTo(true));
+		assertThat(history.hasOutcome("testCases", "[gone]"), equalTo(false));
+		assertThat(history.hasOutcome("otherCases", "[2]"), equalTo(false));
+		assertThat(this.temporaryFolder.getRoot().list().length, equalTo(1));
+	}
+
+	private File historyFile(final Class<?> testClass) {
+		return new File(this.temporaryFolder.getRoot(), testClass.getName() + ".history");
+	}
+
+	private void writeHistory(final Class<?> testClass, final String... lines) throws Exception {
+		final FileWriter writer = new FileWriter(historyFile(testClass));
+		for (final String line : lines) {
+			writer.write(line);
+			writer.write('\n');
+		}
+		writer.close();
+	}
+
+	private static void run(final Class<?> testClass) throws Exception {
+		new Parametric(testClass).run(new RunNotifier());
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.notification.RunNotifier;
+
+public class CaseNamerTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Ignore
+	public static class TestClassCountingToStringCalls {
+
+		static int toStringCalls;
+
+		@TestCases
+		public static Iterable<TestClassCountingToStringCalls> testCases() {
+			return Arrays.asList(new TestClassCountingToStringCalls(),
+					new TestClassCountingToStringCalls());
+		}
+
+		@Override
+		public String toString() {
+			toStringCalls++;
+			return "case " + toStringCalls;
+		}
+
+		@Test
+		public void first() {
+		}
+
+		@Test
+		public void second() {
+		}
+	}
+
+	@Ignore
+	public static class TestClassWithCaseName {
+
+		@TestCases
+		public static Iterable<TestClassWithCaseName> testCases() {
+			return Arrays.asList(new TestClassWithCaseName());
+		}
+
+		@CaseName
+		public String name() {
+			return "explicit name";
+		}
+
+		@Override
+		public String toString() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class TestClassWithIndexNaming {
+
+		@TestCases(naming = CaseNaming.INDEX)
+		public static Iterable<TestClassWithIndexNaming> numbered() {
+			return Arrays.asList(new TestClassWithIndexNaming(), new TestClassWithIndexNaming());
+		}
+
+		@Override
+		public String toString() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class TestClassWithStaticCaseName {
+
+		@CaseName
+		public static String name() {
+			return "static";
+		}
+	}
+
+	@Test
+	public void testDefaultNamingUsesToString() throws Exception {
+		assertThat(CaseNamer.DEFAULT.nameFor(new Object() {
+			@Override
+			public String toString() {
+				return "the name";
+			}
+		}, 0), equalTo("[the name]"));
+	}
+
+	@Test
+	public void testCaseNameMethodIsUsedInsteadOfToString() throws Exception {
+		assertThat(CaseNamer.DEFAULT.nameFor(new TestClassWithCaseName(), 0),
+				equalTo("[explicit name]"));
+	}
+
+	@Test
+	public void testParameterObjectsAreNamedByToString() throws Exception {
+		assertThat(CaseNamer.DEFAULT.nameFor(Integer.valueOf(4), 0), equalTo("[4]"));
+	}
+
+	@Test
+	public void testIndexNamingUsesTestCasesMethodNameAndPosition() throws Exception {
+		final CaseNamer namer = CaseNamer.forMethod(TestClassWithIndexNaming.class
+				.getMethod("numbered"));
+		assertThat(namer.nameFor(new TestClassWithIndexNaming(), 7), equalTo("[numbered 7]"));
+	}
+
+	@Test
+	public void testNullTestCaseCausesInvalidTestClassException() throws Exception {
+		this.exception.expect(Matchers
+				.invalidTestClassExceptionWithMessage("Test case instances may not be null"));
+		CaseNamer.DEFAULT.nameFor(null, 0);
+	}
+
+	@Test
+	public void testStaticCaseNameMethodCausesInvalidTestClassException() throws Exception {
+		this.exception.expect(Matchers.invalidTestClassExceptionWithMessage(MessageFormat.format(
+				"{0} must have at most one @CaseName method, "
+						+ "and it must be a public instance method returning String "
+						+ "with no parameters", TestClassWithStaticCaseName.class.getName())));
+		CaseNamer.DEFAULT.nameFor(new TestClassWithStaticCaseName(), 0);
+	}
+
+	@Test
+	public void testToStringIsCalledOncePerCaseForAWholeRun() throws Exception {
+		TestClassCountingToStringCalls.toStringCalls = 0;
+		final Parametric parametric = new Parametric(TestClassCountingToStringCalls.class);
+		parametric.getDescription();
+		parametric.run(new RunNotifier());
+
+		assertThat(TestClassCountingToStringCalls.toStringCalls, equalTo(2));
+	}
+
+	@Test
+	public void testRunsWithoutCallingToStringWhenNamedByIndex() throws Exception {
+		final Parametric parametric = new Parametric(TestClassWithIndexNaming.class);
+		assertThat(parametric.getDescription().getChildren().get(1).getDisplayName(),
+				equalTo("[numbered 1]"));
+		parametric.run(new RunNotifier());
+	}
+
+}
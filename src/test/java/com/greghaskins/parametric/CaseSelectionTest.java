@@ -0,0 +1,196 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+public class CaseSelectionTest {
+
+	static final List<String> executed = new ArrayList<String>();
+	static int generated;
+
+	@Ignore
+	public static class GeneratedTestClass {
+
+		private final int value;
+
+		public GeneratedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<GeneratedTestClass> testCases() {
+			return new Iterable<GeneratedTestClass>() {
+
+				public Iterator<GeneratedTestClass> iterator() {
+					return new Iterator<GeneratedTestClass>() {
+						private int next = 0;
+
+						public boolean hasNext() {
+							return this.next < 20;
+						}
+
+						public GeneratedTestClass next() {
+							generated++;
+							return new GeneratedTestClass(this.next++);
+						}
+
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			return "case " + this.value;
+		}
+
+		@Test
+		public void something() {
+			executed.add(toString());
+		}
+	}
+
+	@Ignore
+	public static class LargeIndexedTestClass implements ReusableTestCase<int[]> {
+
+		private int value;
+
+		@TestCases
+		public static CountingCases testCases() {
+			return new CountingCases(IntCases.range(0, 1000000));
+		}
+
+		public void bind(final int[] values) {
+			this.value = values[0];
+		}
+
+		@Test
+		public void something() {
+			executed.add(String.valueOf(this.value));
+		}
+	}
+
+	static final class CountingCases implements IndexedTestCases<int[]> {
+
+		private final IntCases cases;
+
+		CountingCases(final IntCases cases) {
+			this.cases = cases;
+		}
+
+		public int size() {
+			return this.cases.size();
+		}
+
+		public int[] get(final int index) {
+			generated++;
+			return this.cases.get(index);
+		}
+
+		public Iterator<int[]> iterator() {
+			throw new UnsupportedOperationException("only indexed access is expected");
+		}
+	}
+
+	@Before
+	public void setUp() {
+		executed.clear();
+		generated = 0;
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(CaseSelection.NAME_PROPERTY);
+		System.clearProperty(CaseSelection.INDEX_PROPERTY);
+	}
+
+	@Test
+	public void testEveryCaseRunsWithoutSelection() throws Exception {
+		run(GeneratedTestClass.class);
+
+		assertThat(executed.size(), equalTo(20));
+	}
+
+	@Test
+	public void testIndexSelectsCasesAndStopsTheProviderEarly() throws Exception {
+		System.setProperty(CaseSelection.INDEX_PROPERTY, "1,3-4");
+
+		run(GeneratedTestClass.class);
+
+		assertThat(executed, contains("case 1", "case 3", "case 4"));
+		assertThat(generated, equalTo(5));
+	}
+
+	@Test
+	public void testNamePatternSelectsCases() throws Exception {
+		System.setProperty(CaseSelection.NAME_PROPERTY, "case 1*");
+
+		run(GeneratedTestClass.class);
+
+		assertThat(executed, contains("case 1", "case 10", "case 11", "case 12", "case 13",
+				"case 14", "case 15", "case 16", "case 17", "case 18", "case 19"));
+	}
+
+	@Test
+	public void testNamePatternMayIncludeBrackets() throws Exception {
+		System.setProperty(CaseSelection.NAME_PROPERTY, "[case 7]");
+
+		run(GeneratedTestClass.class);
+
+		assertThat(executed, contains("case 7"));
+	}
+
+	@Test
+	public void testIndexAndNameMustBothMatch() throws Exception {
+		System.setProperty(CaseSelection.INDEX_PROPERTY, "0-12");
+		System.setProperty(CaseSelection.NAME_PROPERTY, "case 1*");
+
+		run(GeneratedTestClass.class);
+
+		assertThat(executed, contains("case 1", "case 10", "case 11", "case 12"));
+	}
+
+	@Test
+	public void testIndexedCasesAreOnlyCreatedWhenSelected() throws Exception {
+		System.setProperty(CaseSelection.INDEX_PROPERTY, "999999");
+
+		run(LargeIndexedTestClass.class);
+
+		assertThat(executed, contains("999999"));
+		assertThat(generated, equalTo(2));
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testInvalidIndexIsRejected() throws Exception {
+		System.setProperty(CaseSelection.INDEX_PROPERTY, "5-2");
+
+		new Parametric(GeneratedTestClass.class);
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testNonNumericIndexIsRejected() throws Exception {
+		System.setProperty(CaseSelection.INDEX_PROPERTY, "first");
+
+		new Parametric(GeneratedTestClass.class);
+	}
+
+	private static void run(final Class<?> testClass) throws Exception {
+		new Parametric(testClass).run(new RunNotifier());
+	}
+
+}
@@ -0,0 +1,284 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+public class CasesCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	static final List<String> executed = new ArrayList<String>();
+	static int calls;
+
+	@Ignore
+	public static class CachedTestClass implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String value;
+
+		public CachedTestClass(final String value) {
+			this.value = value;
+		}
+
+		@TestCases
+		@CacheTestCases
+		public static Iterable<CachedTestClass> testCases() {
+			calls++;
+			return Arrays.asList(new CachedTestClass("a"), new CachedTestClass("b"),
+					new CachedTestClass("c"));
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.value);
+		}
+	}
+
+	@Ignore
+	public static class CachedStreamingTestClass implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int value;
+
+		public CachedStreamingTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases(streaming = true)
+		@CacheTestCases
+		public static Iterable<CachedStreamingTestClass> testCases() {
+			calls++;
+			return Arrays.asList(new CachedStreamingTestClass(1), new CachedStreamingTestClass(2));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			executed.add(toString());
+		}
+	}
+
+	@Ignore
+	public static class CachedParametersTestClass implements ReusableTestCase<int[]> {
+
+		private int value;
+
+		@TestCases
+		@CacheTestCases
+		public static Iterable<int[]> testCases() {
+			calls++;
+			return Arrays.asList(new int[] { 4 }, new int[] { 5 });
+		}
+
+		public void bind(final int[] values) {
+			this.value = values[0];
+		}
+
+		@Test
+		public void something() {
+			executed.add(String.valueOf(this.value));
+		}
+	}
+
+	@Ignore
+	public static class InputTestClass implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+		static final String INPUT = "target/cases-cache-input.csv";
+
+		@TestCases
+		@CacheTestCases(inputs = INPUT)
+		public static Iterable<InputTestClass> testCases() {
+			calls++;
+			return Arrays.asList(new InputTestClass());
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class NotSerializableTestClass {
+
+		@TestCases
+		@CacheTestCases
+		public static Iterable<NotSerializableTestClass> testCases() {
+			return Arrays.asList(new NotSerializableTestClass());
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class MissingInputTestClass implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		@TestCases
+		@CacheTestCases(inputs = "no/such/file.csv")
+		public static Iterable<MissingInputTestClass> testCases() {
+			return Arrays.asList(new MissingInputTestClass());
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void setUp() {
+		System.setProperty(CasesCache.DIRECTORY_PROPERTY, this.temporaryFolder.getRoot()
+				.getPath());
+		executed.clear();
+		calls = 0;
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(CasesCache.DIRECTORY_PROPERTY);
+		System.clearProperty(CasesCache.ENABLED_PROPERTY);
+		System.clearProperty(CasesCache.REFRESH_PROPERTY);
+	}
+
+	@Test
+	public void testSecondRunReadsCasesFromCache() throws Exception {
+		run(CachedTestClass.class);
+		run(CachedTestClass.class);
+
+		assertThat(calls, equalTo(1));
+		assertThat(executed, contains("a", "b", "c", "a", "b", "c"));
+	}
+
+	@Test
+	public void testOnlyTheCacheFileIsLeftBehind() throws Exception {
+		run(CachedTestClass.class);
+		System.setProperty(CasesCache.REFRESH_PROPERTY, "true");
+		run(CachedTestClass.class);
+
+		assertThat(this.temporaryFolder.getRoot().list(), arrayContaining(CachedTestClass.class
+				.getName() + ".testCases.cases"));
+	}
+
+	@Test
+	public void testStreamingCasesAreReadFromCache() throws Exception {
+		run(CachedStreamingTestClass.class);
+		run(CachedStreamingTestClass.class);
+
+		assertThat(calls, equalTo(1));
+		assertThat(executed, contains("1", "2", "1", "2"));
+	}
+
+	@Test
+	public void testParameterObjectsAreCached() throws Exception {
+		run(CachedParametersTestClass.class);
+		run(CachedParametersTestClass.class);
+
+		assertThat(calls, equalTo(1));
+		assertThat(executed, contains("4", "5", "4", "5"));
+	}
+
+	@Test
+	public void testRefreshPropertyCallsMethodAgain() throws Exception {
+		run(CachedTestClass.class);
+		System.setProperty(CasesCache.REFRESH_PROPERTY, "true");
+
+		run(CachedTestClass.class);
+
+		assertThat(calls, equalTo(2));
+	}
+
+	@Test
+	public void testDisabledBySystemProperty() throws Exception {
+		System.setProperty(CasesCache.ENABLED_PROPERTY, "false");
+
+		run(CachedTestClass.class);
+		run(CachedTestClass.class);
+
+		assertThat(calls, equalTo(2));
+		assertThat(this.temporaryFolder.getRoot().list().length, equalTo(0));
+	}
+
+	@Test
+	public void testChangedInputInvalidatesCache() throws Exception {
+		final File input = new File(InputTestClass.INPUT);
+		input.getParentFile().mkdirs();
+		try {
+			write(input, "first");
+			run(InputTestClass.class);
+			run(InputTestClass.class);
+			write(input, "second");
+
+			run(InputTestClass.class);
+
+			assertThat(calls, equalTo(2));
+		} finally {
+			input.delete();
+		}
+	}
+
+	@Test
+	public void testCorruptFileIsIgnored() throws Exception {
+		run(CachedTestClass.class);
+		write(new File(this.temporaryFolder.getRoot(), CachedTestClass.class.getName()
+				+ ".testCases.cases"), "garbage");
+
+		run(CachedTestClass.class);
+
+		assertThat(calls, equalTo(2));
+		assertThat(executed, contains("a", "b", "c", "a", "b", "c"));
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testCasesMustBeSerializable() throws Exception {
+		new Parametric(NotSerializableTestClass.class);
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testMissingInputIsRejected() throws Exception {
+		new Parametric(MissingInputTestClass.class);
+	}
+
+	private static void write(final File file, final String contents) throws Exception {
+		final FileWriter writer = new FileWriter(file);
+		writer.write(contents);
+		writer.close();
+	}
+
+	private static void run(final Class<?> testClass) throws Exception {
+		new Parametric(testClass).run(new RunNotifier());
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.greghaskins.parametric;
+
+import static com.greghaskins.parametric.Combinations.values;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+
+public class CombinationsTest {
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	@Ignore
+	public static class PairwiseTestClass implements ReusableTestCase<Object[]> {
+
+		static final List<String> executed = new ArrayList<String>();
+
+		private String browser;
+		private String os;
+		private boolean loggedIn;
+
+		@TestCases
+		public static Combinations testCases() {
+			return Combinations.of(values("firefox", "chrome", "safari"),
+					values("linux", "mac", "windows"), values(true, false)).pairwise();
+		}
+
+		public void bind(final Object[] values) {
+			this.browser = (String) values[0];
+			this.os = (String) values[1];
+			this.loggedIn = (Boolean) values[2];
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.browser + "/" + this.os + "/" + this.loggedIn);
+		}
+	}
+
+	@Before
+	public void reset() {
+		PairwiseTestClass.executed.clear();
+	}
+
+	@Test
+	public void testProducesEveryCombinationByDefault() throws Exception {
+		final Combinations combinations = Combinations.of(values(1, 2), values("a", "b", "c"));
+
+		assertThat(combinations.size(), equalTo(6));
+		assertThat(asStrings(combinations), contains("[1, a]", "[1, b]", "[1, c]", "[2, a]",
+				"[2, b]", "[2, c]"));
+	}
+
+	@Test
+	public void testPairwiseCoversEveryPairWithFewerCases() throws Exception {
+		final Combinations full = Combinations.of(values(1, 2, 3), values("a", "b", "c"),
+				values('x', 'y', 'z'), values(true, false));
+		final Combinations pairwise = full.pairwise();
+
+		assertThat(pairwise.size(), lessThan(full.size()));
+		final Set<String> pairs = new HashSet<String>();
+		for (final Object[] values : pairwise) {
+			for (int i = 0; i < values.length; i++) {
+				for (int j = i + 1; j < values.length; j++) {
+					pairs.add(i + "=" + values[i] + "," + j + "=" + values[j]);
+				}
+			}
+		}
+		assertThat(pairs, hasSize(3 * 3 + 3 * 3 + 3 * 2 + 3 * 3 + 3 * 2 + 3 * 2));
+	}
+
+	@Test
+	public void testStrengthOfAtLeastTheNumberOfDimensionsIsEveryCombination()
+			throws Exception {
+		final Combinations combinations = Combinations.of(values(1, 2), values("a", "b"))
+				.nWise(3);
+
+		assertThat(combinations.size(), equalTo(4));
+	}
+
+	@Test
+	public void testFullUndoesPairwise() throws Exception {
+		final Combinations combinations = Combinations.of(values(1, 2), values("a", "b"),
+				values(true, false)).pairwise().full();
+
+		assertThat(combinations.size(), equalTo(8));
+	}
+
+	@Test
+	public void testProducesTheSameCasesEveryTime() throws Exception {
+		assertThat(asStrings(PairwiseTestClass.testCases()),
+				equalTo(asStrings(PairwiseTestClass.testCases())));
+	}
+
+	@Test
+	public void testRejectsDimensionWithoutValues() throws Exception {
+		this.expectedException.expect(IllegalArgumentException.class);
+		Combinations.of(values(1, 2), values());
+	}
+
+	@Test
+	public void testRunsPairwiseCasesThroughParametric() throws Exception {
+		final Parametric parametric = new Parametric(PairwiseTestClass.class);
+		final Description testCasesDescription = parametric.getDescription().getChildren().get(0);
+
+		parametric.run(new RunNotifier());
+
+		assertThat(testCasesDescription.getChildren(), hasSize(PairwiseTestClass.testCases()
+				.size()));
+		assertThat(testCasesDescription.getChildren().get(0).getDisplayName(),
+				equalTo(Arrays.toString(PairwiseTestClass.testCases().get(0))));
+		assertThat(PairwiseTestClass.executed, hasSize(PairwiseTestClass.testCases().size()));
+	}
+
+	private static List<String> asStrings(final Combinations combinations) {
+		final List<String> strings = new ArrayList<String>();
+		for (final Object[] values : combinations) {
+			strings.add(Arrays.toString(values));
+		}
+		return strings;
+	}
+
+}
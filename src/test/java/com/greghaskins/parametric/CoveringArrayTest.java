@@ -0,0 +1,104 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class CoveringArrayTest {
+
+	@Test
+	public void testCoversEveryPairOfValues() throws Exception {
+		final int[] sizes = { 5, 3, 2, 7, 4 };
+
+		assertCoversEveryTuple(sizes, CoveringArray.generate(sizes, 2), 2);
+	}
+
+	@Test
+	public void testCoversEveryTripleOfValues() throws Exception {
+		final int[] sizes = { 3, 3, 3, 3, 3, 3 };
+
+		assertCoversEveryTuple(sizes, CoveringArray.generate(sizes, 3), 3);
+	}
+
+	@Test
+	public void testStrengthOneUsesEveryValueOnce() throws Exception {
+		final int[][] rows = CoveringArray.generate(new int[] { 2, 4, 3 }, 1);
+
+		assertThat(rows.length, equalTo(4));
+		assertCoversEveryTuple(new int[] { 2, 4, 3 }, rows, 1);
+	}
+
+	@Test
+	public void testNeedsFarFewerRowsThanEveryCombination() throws Exception {
+		final int[] sizes = new int[10];
+		Arrays.fill(sizes, 4);
+
+		final int[][] rows = CoveringArray.generate(sizes, 2);
+
+		assertThat(rows.length, lessThanOrEqualTo(40));
+		assertCoversEveryTuple(sizes, rows, 2);
+	}
+
+	@Test
+	public void testProducesTheSameRowsEveryTime() throws Exception {
+		final int[] sizes = { 3, 4, 2, 5, 3, 2 };
+
+		assertTrue(Arrays.deepEquals(CoveringArray.generate(sizes, 2),
+				CoveringArray.generate(sizes, 2)));
+	}
+
+	@Test
+	public void testFillsEveryDimensionWithAValidValue() throws Exception {
+		final int[] sizes = { 2, 3, 4, 5 };
+
+		for (final int[] row : CoveringArray.generate(sizes, 2)) {
+			for (int dimension = 0; dimension < sizes.length; dimension++) {
+				assertTrue(row[dimension] >= 0 && row[dimension] < sizes[dimension]);
+			}
+		}
+	}
+
+	private static void assertCoversEveryTuple(final int[] sizes, final int[][] rows,
+			final int strength) {
+		assertCoversEveryTuple(sizes, rows, strength, new int[strength], 0, 0);
+	}
+
+	private static void assertCoversEveryTuple(final int[] sizes, final int[][] rows,
+			final int strength, final int[] dimensions, final int chosen, final int from) {
+		if (chosen == strength) {
+			assertCoversEveryValueOf(sizes, rows, dimensions, new int[strength], 0);
+			return;
+		}
+		for (int dimension = from; dimension < sizes.length; dimension++) {
+			dimensions[chosen] = dimension;
+			assertCoversEveryTuple(sizes, rows, strength, dimensions, chosen + 1, dimension + 1);
+		}
+	}
+
+	private static void assertCoversEveryValueOf(final int[] sizes, final int[][] rows,
+			final int[] dimensions, final int[] values, final int chosen) {
+		if (chosen == dimensions.length) {
+			for (final int[] row : rows) {
+				boolean matches = true;
+				for (int i = 0; i < dimensions.length; i++) {
+					matches &= row[dimensions[i]] == values[i];
+				}
+				if (matches) {
+					return;
+				}
+			}
+			throw new AssertionError("No row has values " + Arrays.toString(values)
+					+ " for dimensions " + Arrays.toString(dimensions));
+		}
+		for (int value = 0; value < sizes[dimensions[chosen]]; value++) {
+			values[chosen] = value;
+			assertCoversEveryValueOf(sizes, rows, dimensions, values, chosen + 1);
+		}
+	}
+
+}
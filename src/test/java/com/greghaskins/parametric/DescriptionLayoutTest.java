@@ -0,0 +1,283 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.model.InitializationError;
+
+public class DescriptionLayoutTest {
+
+	static final List<String> executed = new ArrayList<String>();
+
+	@Ignore
+	@CompactDescriptions
+	@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+	public static class CompactTestClass {
+
+		private final int value;
+
+		public CompactTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<CompactTestClass> testCases() {
+			return Arrays.asList(new CompactTestClass(1), new CompactTestClass(2),
+					new CompactTestClass(3));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void first() {
+			executed.add("first" + this.value);
+		}
+
+		@Test
+		public void second() {
+			executed.add("second" + this.value);
+			if (this.value == 2) {
+				throw new AssertionError("second fails for 2");
+			}
+		}
+	}
+
+	@Ignore
+	@CompactDescriptions(bucketSize = 2)
+	public static class BucketedTestClass {
+
+		private final int value;
+
+		public BucketedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases(streaming = true)
+		public static Iterable<BucketedTestClass> testCases() {
+			return Arrays.asList(new BucketedTestClass(1), new BucketedTestClass(2),
+					new BucketedTestClass(3), new BucketedTestClass(4), new BucketedTestClass(5));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			executed.add("something" + this.value);
+		}
+	}
+
+	@Ignore
+	@CompactDescriptions
+	public static class IgnoredMethodTestClass {
+
+		@TestCases
+		public static Iterable<IgnoredMethodTestClass> testCases() {
+			return Arrays.asList(new IgnoredMethodTestClass());
+		}
+
+		@Override
+		public String toString() {
+			return "only";
+		}
+
+		@Ignore
+		@Test
+		public void ignored() {
+			executed.add("ignored");
+		}
+	}
+
+	@Ignore
+	@CompactDescriptions
+	public static class NamedTestClass {
+
+		private final int value;
+
+		@Rule
+		public TestName testName = new TestName();
+
+		public NamedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<NamedTestClass> testCases() {
+			return Arrays.asList(new NamedTestClass(1), new NamedTestClass(2));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.testName.getMethodName());
+		}
+	}
+
+	@Ignore
+	@CompactDescriptions(bucketSize = -1)
+	public static class NegativeBucketSizeTestClass {
+
+		@TestCases
+		public static Iterable<NegativeBucketSizeTestClass> testCases() {
+			return Arrays.asList(new NegativeBucketSizeTestClass());
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void setUp() {
+		executed.clear();
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(DescriptionLayout.COMPACT_PROPERTY);
+	}
+
+	@Test
+	public void testRulesSeeTheCaseName() throws Exception {
+		new Parametric(NamedTestClass.class).run(new RunNotifier());
+
+		assertThat(executed, contains("something[1]", "something[2]"));
+	}
+
+	@Test
+	public void testEachCaseIsDescribedAsOneTest() throws Exception {
+		final Description description = new Parametric(CompactTestClass.class).getDescription();
+
+		assertThat(description.getChildren(), hasSize(3));
+		final Description first = description.getChildren().get(0);
+		assertThat(first.isTest(), equalTo(true));
+		assertThat(first, equalTo(Description.createTestDescription(CompactTestClass.class,
+				"[1]")));
+		assertThat(description.testCount(), equalTo(3));
+	}
+
+	@Test
+	public void testMethodEventsAreReportedAgainstTheCase() throws Exception {
+		final List<String> events = run(new Parametric(CompactTestClass.class));
+
+		assertThat(executed, contains("first1", "second1", "first2", "second2", "first3",
+				"second3"));
+		assertThat(events, contains("started [1]", "finished [1]", "started [2]", "failed [2]",
+				"finished [2]", "started [3]", "finished [3]"));
+	}
+
+	@Test
+	public void testCaseWithoutRunningMethodsIsIgnored() throws Exception {
+		final List<String> events = run(new Parametric(IgnoredMethodTestClass.class));
+
+		assertThat(executed, hasSize(0));
+		assertThat(events, contains("ignored [only]"));
+	}
+
+	@Test
+	public void testCasesAreGroupedIntoBuckets() throws Exception {
+		final Description description = new Parametric(BucketedTestClass.class).getDescription();
+
+		final Description streamed = description.getChildren().get(0);
+		assertThat(streamed.getChildren(), hasSize(3));
+		assertThat(streamed.getChildren().get(0).getDisplayName(), equalTo("testCases() [1-2]"));
+		assertThat(streamed.getChildren().get(2).getDisplayName(), equalTo("testCases() [5-5]"));
+		assertThat(streamed.getChildren().get(2).getChildren(), hasSize(1));
+		assertThat(description.testCount(), equalTo(5));
+	}
+
+	@Test
+	public void testStreamedCasesRunAsOneTestEach() throws Exception {
+		final List<String> events = run(new Parametric(BucketedTestClass.class));
+
+		assertThat(executed, hasSize(5));
+		assertThat(events, hasSize(10));
+		assertThat(events.get(0), equalTo("started [1]"));
+	}
+
+	@Test
+	public void testFilterSelectsWholeCases() throws Exception {
+		final Parametric parametric = new Parametric(CompactTestClass.class);
+
+		parametric.filter(Filter.matchMethodDescription(Description.createTestDescription(
+				CompactTestClass.class, "[3]")));
+		run(parametric);
+
+		assertThat(executed, contains("first3", "second3"));
+		assertThat(parametric.getDescription().getChildren(), hasSize(1));
+	}
+
+	@Test
+	public void testSystemPropertyMakesEveryClassCompact() throws Exception {
+		System.setProperty(DescriptionLayout.COMPACT_PROPERTY, "true");
+
+		final Description description = new Parametric(
+				StreamingTestCasesRunnerTest.StreamedTestClass.class).getDescription();
+
+		assertThat(description.getChildren().get(0).getChildren().get(0).isTest(),
+				equalTo(true));
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testNegativeBucketSizeIsRejected() throws Exception {
+		new Parametric(NegativeBucketSizeTestClass.class);
+	}
+
+	private static List<String> run(final Parametric parametric) {
+		final List<String> events = new ArrayList<String>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+
+			@Override
+			public void testStarted(final Description description) {
+				events.add("started " + description.getMethodName());
+			}
+
+			@Override
+			public void testFailure(final Failure failure) {
+				events.add("failed " + failure.getDescription().getMethodName());
+			}
+
+			@Override
+			public void testFinished(final Description description) {
+				events.add("finished " + description.getMethodName());
+			}
+
+			@Override
+			public void testIgnored(final Description description) {
+				events.add("ignored " + description.getMethodName());
+			}
+		});
+		parametric.run(notifier);
+		return events;
+	}
+
+}
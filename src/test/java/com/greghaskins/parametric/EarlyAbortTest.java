@@ -0,0 +1,245 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+public class EarlyAbortTest {
+
+	static final List<String> executed = new ArrayList<String>();
+
+	@Ignore
+	@FailFast(maxFailures = 2)
+	public static class TestClassWithMaxFailures {
+
+		private final int value;
+
+		public TestClassWithMaxFailures(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<TestClassWithMaxFailures> testCases() {
+			return Arrays.asList(new TestClassWithMaxFailures(1), new TestClassWithMaxFailures(2),
+					new TestClassWithMaxFailures(3), new TestClassWithMaxFailures(4),
+					new TestClassWithMaxFailures(5));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void alwaysFails() {
+			executed.add(toString());
+			throw new AssertionError();
+		}
+	}
+
+	@Ignore
+	@FailFast(perTestCasesMethod = true)
+	public static class TestClassStoppingPerTestCasesMethod {
+
+		private final String name;
+		private final boolean passes;
+
+		public TestClassStoppingPerTestCasesMethod(final String name, final boolean passes) {
+			this.name = name;
+			this.passes = passes;
+		}
+
+		@TestCases
+		public static Iterable<TestClassStoppingPerTestCasesMethod> failingCases() {
+			return Arrays.asList(new TestClassStoppingPerTestCasesMethod("f1", false),
+					new TestClassStoppingPerTestCasesMethod("f2", false),
+					new TestClassStoppingPerTestCasesMethod("f3", false));
+		}
+
+		@TestCases
+		public static Iterable<TestClassStoppingPerTestCasesMethod> passingCases() {
+			return Arrays.asList(new TestClassStoppingPerTestCasesMethod("p1", true),
+					new TestClassStoppingPerTestCasesMethod("p2", true));
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.name);
+			if (!this.passes) {
+				throw new AssertionError();
+			}
+		}
+	}
+
+	@Ignore
+	@FailFast
+	public static class TestClassWithBareFailFast {
+
+		private final int value;
+
+		public TestClassWithBareFailFast(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<TestClassWithBareFailFast> testCases() {
+			return Arrays.asList(new TestClassWithBareFailFast(1),
+					new TestClassWithBareFailFast(2), new TestClassWithBareFailFast(3));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void alwaysFails() {
+			executed.add(toString());
+			throw new AssertionError();
+		}
+	}
+
+	@Ignore
+	@FailFast(sampleSize = 10)
+	public static class TestClassWithSampleButNoRate {
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void reset() {
+		executed.clear();
+	}
+
+	@Test
+	public void testStopsAfterMaxFailuresAndIgnoresTheRest() throws Exception {
+		final List<String> ignored = run(TestClassWithMaxFailures.class);
+
+		assertThat(executed, containsInAnyOrder("1", "2"));
+		assertThat(ignored, hasSize(3));
+	}
+
+	@Test
+	public void testStopsOnlyTheTestCasesMethodThatFailed() throws Exception {
+		final List<String> ignored = run(TestClassStoppingPerTestCasesMethod.class);
+
+		assertThat(executed, containsInAnyOrder("f1", "p1", "p2"));
+		assertThat(ignored, hasSize(2));
+	}
+
+	@Test
+	public void testAbortsWhenFailureRateOfSampleIsExceeded() throws Exception {
+		final EarlyAbort earlyAbort = new EarlyAbort(0, 0.5, 4, false);
+		earlyAbort.caseFinished("testCases", true);
+		earlyAbort.caseFinished("testCases", false);
+		earlyAbort.caseFinished("testCases", true);
+		assertThat(earlyAbort.shouldSkip("testCases"), equalTo(false));
+
+		earlyAbort.caseFinished("testCases", true);
+		assertThat(earlyAbort.shouldSkip("testCases"), equalTo(true));
+	}
+
+	@Test
+	public void testKeepsRunningWhenFailureRateOfSampleIsAcceptable() throws Exception {
+		final EarlyAbort earlyAbort = new EarlyAbort(0, 0.5, 4, false);
+		earlyAbort.caseFinished("testCases", true);
+		earlyAbort.caseFinished("testCases", false);
+		earlyAbort.caseFinished("testCases", true);
+		earlyAbort.caseFinished("testCases", false);
+		earlyAbort.caseFinished("testCases", true);
+
+		assertThat(earlyAbort.shouldSkip("testCases"), equalTo(false));
+	}
+
+	@Test
+	public void testBareAnnotationStopsAfterFirstFailure() throws Exception {
+		final List<String> ignored = run(TestClassWithBareFailFast.class);
+
+		assertThat(executed, contains("1"));
+		assertThat(ignored, hasSize(2));
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testSampleWithoutRateIsRejected() throws Exception {
+		EarlyAbort.forTestClass(TestClassWithSampleButNoRate.class);
+	}
+
+	@Test
+	public void testSampleRateCountsFailuresOfCasesFinishingTogether() throws Exception {
+		for (int attempt = 0; attempt < 200; attempt++) {
+			final EarlyAbort earlyAbort = new EarlyAbort(0, 0.5, 4, false);
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<Thread> threads = new ArrayList<Thread>();
+			for (int i = 0; i < 4; i++) {
+				final boolean failed = i > 0;
+				final Thread thread = new Thread() {
+
+					@Override
+					public void run() {
+						try {
+							start.await();
+						} catch (final InterruptedException e) {
+							return;
+						}
+						earlyAbort.caseFinished("testCases", failed);
+					}
+				};
+				thread.start();
+				threads.add(thread);
+			}
+			start.countDown();
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+
+			assertThat(earlyAbort.shouldSkip("testCases"), equalTo(true));
+		}
+	}
+
+	@Test
+	public void testEachRunStartsAfresh() throws Exception {
+		final Parametric parametric = new Parametric(TestClassWithMaxFailures.class);
+		parametric.run(new RunNotifier());
+		executed.clear();
+
+		parametric.run(new RunNotifier());
+
+		assertThat(executed, hasSize(2));
+	}
+
+	private static List<String> run(final Class<?> testClass) throws Exception {
+		final List<String> ignored = new ArrayList<String>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testIgnored(final Description description) {
+				ignored.add(description.getDisplayName());
+			}
+		});
+		new Parametric(testClass).run(notifier);
+		return ignored;
+	}
+
+}
@@ -0,0 +1,288 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+public class GroupFixturesTest {
+
+	static final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+	static final Map<String, String> servers = new HashMap<String, String>();
+	static int started;
+
+	public static class Server {
+
+		final String name;
+
+		Server(final String name) {
+			this.name = name;
+		}
+	}
+
+	@Ignore
+	public static class GroupedTestClass {
+
+		private final String name;
+
+		@CasesFixture
+		public Server server;
+
+		public GroupedTestClass(final String name) {
+			this.name = name;
+		}
+
+		@TestCases
+		public static Iterable<GroupedTestClass> first() {
+			return Arrays.asList(new GroupedTestClass("a1"), new GroupedTestClass("a2"));
+		}
+
+		@TestCases
+		public static Iterable<GroupedTestClass> second() {
+			return Arrays.asList(new GroupedTestClass("b1"), new GroupedTestClass("b2"));
+		}
+
+		@BeforeCases
+		public static Server startServer() {
+			events.add("start");
+			return new Server("server " + ++started);
+		}
+
+		@AfterCases
+		public static void stopServer(final Server server) {
+			events.add("stop " + server.name);
+		}
+
+		@BeforeCases("second")
+		public static void prepareSecond() {
+			events.add("prepare second");
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+		@Test
+		public void usesServer() {
+			events.add(this.name);
+			servers.put(this.name, this.server.name);
+		}
+	}
+
+	@Ignore
+	@RunInParallel(threads = 4)
+	public static class ParallelTestClass {
+
+		private final int value;
+
+		public ParallelTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<ParallelTestClass> testCases() {
+			final List<ParallelTestClass> cases = new ArrayList<ParallelTestClass>();
+			for (int i = 0; i < 20; i++) {
+				cases.add(new ParallelTestClass(i));
+			}
+			return cases;
+		}
+
+		@BeforeCases
+		public static void setUpGroup() {
+			events.add("set up");
+		}
+
+		@AfterCases
+		public static void tearDownGroup() {
+			events.add("tear down");
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			events.add("case");
+		}
+	}
+
+	@Ignore
+	public static class FailingSetupTestClass {
+
+		@TestCases
+		public static Iterable<FailingSetupTestClass> testCases() {
+			return Arrays.asList(new FailingSetupTestClass(), new FailingSetupTestClass());
+		}
+
+		@BeforeCases
+		public static void failToSetUp() {
+			throw new IllegalStateException("no server");
+		}
+
+		@AfterCases
+		public static void tearDownGroup() {
+			events.add("tear down");
+		}
+
+		@Test
+		public void something() {
+			events.add("case");
+		}
+	}
+
+	@Ignore
+	public static class NonStaticSetupTestClass {
+
+		@TestCases
+		public static Iterable<NonStaticSetupTestClass> testCases() {
+			return Arrays.asList(new NonStaticSetupTestClass());
+		}
+
+		@BeforeCases
+		public void setUpGroup() {
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class UnknownGroupTestClass {
+
+		@TestCases
+		public static Iterable<UnknownGroupTestClass> testCases() {
+			return Arrays.asList(new UnknownGroupTestClass());
+		}
+
+		@AfterCases("otherCases")
+		public static void tearDownGroup() {
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class PlainTestClass {
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void setUp() {
+		events.clear();
+		servers.clear();
+		started = 0;
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(CaseSelection.NAME_PROPERTY);
+	}
+
+	@Test
+	public void testFixturesAreSetUpAndTornDownOncePerGroup() throws Exception {
+		final List<Failure> failures = run(GroupedTestClass.class);
+
+		assertThat(failures, hasSize(0));
+		assertThat(events, hasSize(9));
+		assertThat(servers.get("a2"), equalTo(servers.get("a1")));
+		assertThat(servers.get("b2"), equalTo(servers.get("b1")));
+		assertThat(servers.get("b1"), not(equalTo(servers.get("a1"))));
+		assertThat(events.indexOf("stop " + servers.get("a1")), greaterThan(events.indexOf("a2")));
+		assertThat(events.indexOf("stop " + servers.get("b1")), greaterThan(events.indexOf("b2")));
+		assertThat(events.indexOf("prepare second"), lessThan(events.indexOf("b1")));
+		assertThat(events.lastIndexOf("prepare second"), equalTo(events.indexOf("prepare second")));
+	}
+
+	@Test
+	public void testGroupWithoutSelectedCasesIsNotSetUp() throws Exception {
+		System.setProperty(CaseSelection.NAME_PROPERTY, "b*");
+
+		run(GroupedTestClass.class);
+
+		assertThat(events, containsInAnyOrder("start", "prepare second", "b1", "b2",
+				"stop server 1"));
+		assertThat(events.get(4), equalTo("stop server 1"));
+	}
+
+	@Test
+	public void testGroupIsTornDownAfterParallelCases() throws Exception {
+		final List<Failure> failures = run(ParallelTestClass.class);
+
+		assertThat(failures, hasSize(0));
+		assertThat(events, hasSize(22));
+		assertThat(events.get(0), equalTo("set up"));
+		assertThat(events.subList(1, 21), everyItem(equalTo("case")));
+		assertThat(events.get(21), equalTo("tear down"));
+	}
+
+	@Test
+	public void testSetupFailureFailsEveryCaseOfTheGroup() throws Exception {
+		final List<Failure> failures = run(FailingSetupTestClass.class);
+
+		assertThat(failures, hasSize(2));
+		assertThat(failures.get(0).getMessage(), equalTo("no server"));
+		assertThat(events, contains("tear down"));
+	}
+
+	@Test
+	public void testDisabledWithoutAnnotations() throws Exception {
+		assertThat(GroupFixtures.forTestClass(PlainTestClass.class), nullValue());
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testNonStaticSetupIsRejected() throws Exception {
+		new Parametric(NonStaticSetupTestClass.class);
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testUnknownGroupIsRejected() throws Exception {
+		new Parametric(UnknownGroupTestClass.class);
+	}
+
+	private static List<Failure> run(final Class<?> testClass) throws Exception {
+		final List<Failure> failures = new ArrayList<Failure>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+
+			@Override
+			public void testFailure(final Failure failure) {
+				failures.add(failure);
+			}
+		});
+		new Parametric(testClass).run(notifier);
+		return failures;
+	}
+
+}
@@ -0,0 +1,186 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+public class InstancePoolTest {
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	@Ignore
+	public static class ReusedTestClass implements ReusableTestCase<Integer> {
+
+		static final AtomicInteger created = new AtomicInteger();
+		static final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+
+		private Integer value;
+
+		public ReusedTestClass() {
+			created.incrementAndGet();
+		}
+
+		@TestCases
+		public static Iterable<Integer> testCases() {
+			return Arrays.asList(1, 2, 3, 4, 5, 6);
+		}
+
+		public void bind(final Integer parameters) {
+			this.value = parameters;
+		}
+
+		@Test
+		public void first() {
+			executed.add("first" + this.value);
+		}
+
+		@Test
+		public void second() {
+			executed.add("second" + this.value);
+		}
+	}
+
+	@Ignore
+	@RunInParallel(threads = 2)
+	public static class ReusedInParallelTestClass implements ReusableTestCase<String> {
+
+		static final AtomicInteger created = new AtomicInteger();
+
+		public ReusedInParallelTestClass() {
+			created.incrementAndGet();
+		}
+
+		@TestCases
+		public static Iterable<String> testCases() {
+			final List<String> testCases = new ArrayList<String>();
+			for (int i = 0; i < 50; i++) {
+				testCases.add("case " + i);
+			}
+			return testCases;
+		}
+
+		public void bind(final String parameters) {
+		}
+
+		@Test
+		public void something() throws Exception {
+			Thread.sleep(1);
+		}
+	}
+
+	@Ignore
+	public static class ReusedTestClassWithoutNoArgumentConstructor implements
+			ReusableTestCase<String> {
+
+		public ReusedTestClassWithoutNoArgumentConstructor(final String value) {
+		}
+
+		@TestCases
+		public static Iterable<String> testCases() {
+			return Arrays.asList("one");
+		}
+
+		public void bind(final String parameters) {
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class ReusedTestClassThatFailsToBind implements ReusableTestCase<String> {
+
+		@TestCases
+		public static Iterable<String> testCases() {
+			return Arrays.asList("good", "bad");
+		}
+
+		public void bind(final String parameters) {
+			if (parameters.equals("bad")) {
+				throw new IllegalArgumentException("cannot bind");
+			}
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void reset() {
+		ReusedTestClass.created.set(0);
+		ReusedTestClass.executed.clear();
+		ReusedInParallelTestClass.created.set(0);
+	}
+
+	@Test
+	public void testBindsOneReusedInstanceToEachCase() throws Exception {
+		new Parametric(ReusedTestClass.class).run(new RunNotifier());
+
+		assertThat(ReusedTestClass.created.get(), equalTo(1));
+		assertThat(ReusedTestClass.executed, containsInAnyOrder("first1", "second1", "first2",
+				"second2", "first3", "second3", "first4", "second4", "first5", "second5",
+				"first6", "second6"));
+	}
+
+	@Test
+	public void testNamesCasesAfterTheirParameters() throws Exception {
+		final Description description = new Parametric(ReusedTestClass.class).getDescription();
+
+		assertThat(description.getChildren().get(2).getDisplayName(), equalTo("[3]"));
+	}
+
+	@Test
+	public void testCreatesNoMoreInstancesThanThreads() throws Exception {
+		new Parametric(ReusedInParallelTestClass.class).run(new RunNotifier());
+
+		assertThat(ReusedInParallelTestClass.created.get(), lessThanOrEqualTo(2));
+	}
+
+	@Test
+	public void testRequiresPublicNoArgumentConstructor() throws Exception {
+		this.expectedException.expect(Matchers.invalidTestClassExceptionWithMessage(MessageFormat
+				.format("{0} implements ReusableTestCase, so it must be a concrete class "
+						+ "with a public no-argument constructor",
+						ReusedTestClassWithoutNoArgumentConstructor.class.getName())));
+		new Parametric(ReusedTestClassWithoutNoArgumentConstructor.class);
+	}
+
+	@Test
+	public void testReportsBindFailureAsFailureOfThatCase() throws Exception {
+		final List<String> failed = new ArrayList<String>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testFailure(final Failure failure) {
+				failed.add(failure.getDescription().getDisplayName());
+			}
+		});
+
+		new Parametric(ReusedTestClassThatFailsToBind.class).run(notifier);
+
+		assertThat(failed, containsInAnyOrder(MessageFormat.format("something[bad]({0})",
+				ReusedTestClassThatFailsToBind.class.getName())));
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+
+public class IntCasesTest {
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	@Ignore
+	public static class PrimitiveAdderTest implements ReusableTestCase<int[]> {
+
+		static int created;
+		static final List<String> executed = new ArrayList<String>();
+
+		private int left;
+		private int right;
+
+		public PrimitiveAdderTest() {
+			created++;
+		}
+
+		@TestCases
+		public static IntCases testCases() {
+			return IntCases.product(IntCases.range(0, 3), IntCases.of(10, 20));
+		}
+
+		public void bind(final int[] values) {
+			this.left = values[0];
+			this.right = values[1];
+		}
+
+		@Test
+		public void additionIsCommutative() {
+			executed.add(this.left + "+" + this.right);
+			assertThat(this.left + this.right, equalTo(this.right + this.left));
+		}
+	}
+
+	@Ignore
+	public static class NotReusableTestClass {
+
+		@TestCases
+		public static IntCases testCases() {
+			return IntCases.range(0, 3);
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void reset() {
+		PrimitiveAdderTest.created = 0;
+		PrimitiveAdderTest.executed.clear();
+	}
+
+	@Test
+	public void testRangeExcludesItsEnd() throws Exception {
+		assertThat(asStrings(IntCases.range(-2, 2)), contains("[-2]", "[-1]", "[0]", "[1]"));
+	}
+
+	@Test
+	public void testRangeClosedIncludesItsEnd() throws Exception {
+		assertThat(asStrings(IntCases.rangeClosed(5, 7)), contains("[5]", "[6]", "[7]"));
+	}
+
+	@Test
+	public void testEmptyRangeHasNoCases() throws Exception {
+		assertThat(IntCases.range(3, 3).size(), equalTo(0));
+		assertThat(IntCases.range(3, 1).size(), equalTo(0));
+	}
+
+	@Test
+	public void testSmallRangesMayEndAtTheLargestInt() throws Exception {
+		assertThat(asStrings(IntCases.rangeClosed(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)),
+				contains("[" + (Integer.MAX_VALUE - 1) + "]", "[" + Integer.MAX_VALUE + "]"));
+		assertThat(IntCases.range(Integer.MAX_VALUE - 1, Integer.MAX_VALUE).size(), equalTo(1));
+	}
+
+	@Test
+	public void testRejectsRangeWithMoreCasesThanFitInAnInt() throws Exception {
+		this.expectedException.expect(IllegalArgumentException.class);
+		IntCases.rangeClosed(Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void testProductVariesLastDimensionFastest() throws Exception {
+		final IntCases product = IntCases.product(IntCases.of(1, 2), IntCases.range(0, 3));
+
+		assertThat(product.size(), equalTo(6));
+		assertThat(product.dimensions(), equalTo(2));
+		assertThat(asStrings(product), contains("[1, 0]", "[1, 1]", "[1, 2]", "[2, 0]",
+				"[2, 1]", "[2, 2]"));
+		assertThat(Arrays.toString(product.get(4)), equalTo("[2, 1]"));
+	}
+
+	@Test
+	public void testRejectsProductWithMoreCasesThanFitInAnInt() throws Exception {
+		this.expectedException.expect(IllegalArgumentException.class);
+		IntCases.product(IntCases.range(0, 100000), IntCases.range(0, 100000));
+	}
+
+	@Test
+	public void testRejectsIndexOutOfRange() throws Exception {
+		this.expectedException.expect(IndexOutOfBoundsException.class);
+		IntCases.range(0, 3).get(3);
+	}
+
+	@Test
+	public void testRunsEveryCaseOnOneReusedInstance() throws Exception {
+		new Parametric(PrimitiveAdderTest.class).run(new RunNotifier());
+
+		assertThat(PrimitiveAdderTest.created, equalTo(1));
+		assertThat(PrimitiveAdderTest.executed, contains("0+10", "0+20", "1+10", "1+20", "2+10",
+				"2+20"));
+	}
+
+	@Test
+	public void testNamesCasesAfterTheirValues() throws Exception {
+		final Description testCasesDescription = new Parametric(PrimitiveAdderTest.class)
+				.getDescription().getChildren().get(0);
+
+		assertThat(testCasesDescription.getChildren(), hasSize(6));
+		assertThat(testCasesDescription.getChildren().get(3).getDisplayName(),
+				equalTo("[1, 20]"));
+	}
+
+	@Test
+	public void testRequiresReusableTestCase() throws Exception {
+		this.expectedException.expect(Matchers.invalidTestClassExceptionWithMessage(MessageFormat
+				.format("@TestCases {0}.testCases() does not return an Iterable<{1}>",
+						NotReusableTestClass.class.getName(),
+						NotReusableTestClass.class.getSimpleName())));
+		new Parametric(NotReusableTestClass.class);
+	}
+
+	private static List<String> asStrings(final IntCases cases) {
+		final List<String> strings = new ArrayList<String>();
+		for (final int[] values : cases) {
+			strings.add(Arrays.toString(values));
+		}
+		return strings;
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.model.FrameworkMethod;
+
+public class InvokersTest {
+
+	static final List<String> events = new ArrayList<String>();
+
+	@Ignore
+	@FastInvocation
+	@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+	public static class FastTestClass {
+
+		private final String name;
+
+		public FastTestClass(final String name) {
+			this.name = name;
+		}
+
+		@TestCases
+		public static Iterable<FastTestClass> testCases() {
+			return Arrays.asList(new FastTestClass("a"), new FastTestClass("b"));
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+		@Before
+		public void setUp() {
+			events.add("before " + this.name);
+		}
+
+		@After
+		public void tearDown() {
+			events.add("after " + this.name);
+		}
+
+		@Test
+		public void passes() {
+			events.add("passes " + this.name);
+		}
+
+		@Test
+		public void throwsCheckedException() throws IOException {
+			events.add("throws " + this.name);
+			throw new IOException("checked " + this.name);
+		}
+	}
+
+	@Ignore
+	public static class PlainTestClass {
+
+		public static void staticMethod() {
+			events.add("static");
+		}
+
+		public void instanceMethod() {
+			events.add("instance");
+		}
+	}
+
+	@Before
+	public void setUp() {
+		events.clear();
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(Invokers.PROPERTY);
+	}
+
+	@Test
+	public void testLifecycleMethodsRunAroundEachTest() throws Exception {
+		run(FastTestClass.class);
+
+		assertThat(events, contains("before a", "passes a", "after a", "before a", "throws a",
+				"after a", "before b", "passes b", "after b", "before b", "throws b", "after b"));
+	}
+
+	@Test
+	public void testExceptionsAreReportedUnwrapped() throws Exception {
+		final List<Failure> failures = run(FastTestClass.class);
+
+		assertThat(failures.size(), equalTo(2));
+		assertThat(failures.get(0).getException(), instanceOf(IOException.class));
+		assertThat(failures.get(0).getMessage(), equalTo("checked a"));
+	}
+
+	@Test
+	public void testInvokerIsBoundOncePerMethod() throws Throwable {
+		final FrameworkMethod method = new FrameworkMethod(PlainTestClass.class
+				.getMethod("instanceMethod"));
+
+		final Invokers invokers = new Invokers();
+
+		final Invokers.Invoker invoker = invokers.invokerFor(method);
+
+		assertThat(invokers.invokerFor(new FrameworkMethod(PlainTestClass.class
+				.getMethod("instanceMethod"))), sameInstance(invoker));
+		invoker.invoke(new PlainTestClass());
+		assertThat(events, contains("instance"));
+	}
+
+	@Test
+	public void testStaticMethodsAreInvokedReflectively() throws Throwable {
+		final Invokers.Invoker invoker = new Invokers().invokerFor(new FrameworkMethod(
+				PlainTestClass.class.getMethod("staticMethod")));
+
+		invoker.invoke(null);
+
+		assertThat(events, contains("static"));
+	}
+
+	@Test
+	public void testEnabledBySystemProperty() throws Exception {
+		assertThat(ParametricSettings.forTestClass(PlainTestClass.class).getInvokers(),
+				nullValue());
+
+		System.setProperty(Invokers.PROPERTY, "true");
+
+		assertThat(ParametricSettings.forTestClass(PlainTestClass.class).getInvokers(),
+				not(nullValue()));
+	}
+
+	private static List<Failure> run(final Class<?> testClass) throws Exception {
+		final List<Failure> failures = new ArrayList<Failure>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+
+			@Override
+			public void testFailure(final Failure failure) {
+				failures.add(failure);
+			}
+		});
+		new Parametric(testClass).run(notifier);
+		return failures;
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class LongCasesTest {
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	@Test
+	public void testRangeCanStartBeyondIntValues() throws Exception {
+		final long start = Integer.MAX_VALUE * 4L;
+
+		assertThat(asStrings(LongCases.range(start, start + 3)), contains("[" + start + "]", "["
+				+ (start + 1) + "]", "[" + (start + 2) + "]"));
+	}
+
+	@Test
+	public void testProductVariesLastDimensionFastest() throws Exception {
+		final LongCases product = LongCases.product(LongCases.rangeClosed(1, 2),
+				LongCases.of(-1L, Long.MAX_VALUE));
+
+		assertThat(asStrings(product), contains("[1, -1]", "[1, " + Long.MAX_VALUE + "]",
+				"[2, -1]", "[2, " + Long.MAX_VALUE + "]"));
+	}
+
+	@Test
+	public void testRejectsRangeWithMoreCasesThanFitInAnInt() throws Exception {
+		this.expectedException.expect(IllegalArgumentException.class);
+		LongCases.range(Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	@Test
+	public void testEmptyRangeHasNoCases() throws Exception {
+		assertThat(LongCases.range(5, 1).size(), equalTo(0));
+	}
+
+	@Test
+	public void testSmallRangesMayEndAtTheLargestLong() throws Exception {
+		assertThat(asStrings(LongCases.rangeClosed(Long.MAX_VALUE - 1, Long.MAX_VALUE)),
+				contains("[" + (Long.MAX_VALUE - 1) + "]", "[" + Long.MAX_VALUE + "]"));
+		assertThat(asStrings(LongCases.range(Long.MIN_VALUE, Long.MIN_VALUE + 1)),
+				contains("[" + Long.MIN_VALUE + "]"));
+	}
+
+	@Test
+	public void testRejectsClosedRangeWithMoreCasesThanFitInAnInt() throws Exception {
+		this.expectedException.expect(IllegalArgumentException.class);
+		LongCases.rangeClosed(0, Integer.MAX_VALUE);
+	}
+
+	private static List<String> asStrings(final LongCases cases) {
+		final List<String> strings = new ArrayList<String>();
+		for (final long[] values : cases) {
+			strings.add(Arrays.toString(values));
+		}
+		return strings;
+	}
+
+}
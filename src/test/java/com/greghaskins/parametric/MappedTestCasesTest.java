@@ -0,0 +1,264 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+public class MappedTestCasesTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final RecordDecoder<String> TEXT = new RecordDecoder<String>() {
+
+		public String decode(final ByteBuffer record) {
+			return UTF_8.decode(record).toString();
+		}
+	};
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	@Ignore
+	public static class MappedTestClass {
+
+		static File file;
+		static int decoded;
+		static final List<String> executed = new ArrayList<String>();
+
+		private final String value;
+
+		public MappedTestClass(final String value) {
+			this.value = value;
+		}
+
+		@TestCases(naming = CaseNaming.INDEX)
+		public static Iterable<MappedTestClass> testCases() throws IOException {
+			return MappedTestCases.lines(file, new RecordDecoder<MappedTestClass>() {
+
+				public MappedTestClass decode(final ByteBuffer record) {
+					decoded++;
+					final String value = UTF_8.decode(record).toString();
+					if (value.equals("bad")) {
+						throw new IllegalArgumentException("undecodable record");
+					}
+					return new MappedTestClass(value);
+				}
+			});
+		}
+
+		@Test
+		public void valueIsNotEmpty() {
+			executed.add(this.value);
+			assertThat(this.value.length(), not(equalTo(0)));
+		}
+	}
+
+	@Ignore
+	public static class NamedMappedTestClass {
+
+		static File file;
+		static final List<String> executed = new ArrayList<String>();
+
+		private final String value;
+
+		public NamedMappedTestClass(final String value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<NamedMappedTestClass> testCases() throws IOException {
+			return MappedTestCases.lines(file, new RecordDecoder<NamedMappedTestClass>() {
+
+				public NamedMappedTestClass decode(final ByteBuffer record) {
+					final String value = UTF_8.decode(record).toString();
+					if (value.equals("bad")) {
+						throw new IllegalArgumentException("undecodable record");
+					}
+					return new NamedMappedTestClass(value);
+				}
+			});
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+
+		@Test
+		public void valueIsNotEmpty() {
+			executed.add(this.value);
+		}
+	}
+
+	@Before
+	public void reset() {
+		NamedMappedTestClass.executed.clear();
+		MappedTestClass.decoded = 0;
+		MappedTestClass.executed.clear();
+	}
+
+	@Test
+	public void testReadsOneRecordPerLine() throws Exception {
+		final MappedTestCases<String> testCases = MappedTestCases.lines(
+				file("one\ntwo\r\n\nfour"), TEXT);
+
+		assertThat(testCases.size(), equalTo(4));
+		assertThat(testCases, contains("one", "two", "", "four"));
+	}
+
+	@Test
+	public void testIgnoresFinalLineTerminator() throws Exception {
+		final MappedTestCases<String> testCases = MappedTestCases.lines(file("one\ntwo\n"), TEXT);
+
+		assertThat(testCases, contains("one", "two"));
+	}
+
+	@Test
+	public void testReadsLinesAcrossSeveralSegments() throws Exception {
+		final MappedTestCases<String> testCases = MappedTestCases.lines(
+				file("alpha\nbeta\ngamma\ndelta\nepsilon"), TEXT, 12);
+
+		assertThat(testCases, contains("alpha", "beta", "gamma", "delta", "epsilon"));
+		assertThat(testCases.get(3), equalTo("delta"));
+	}
+
+	@Test
+	public void testRejectsLinesLongerThanOneSegment() throws Exception {
+		this.expectedException.expect(IOException.class);
+		MappedTestCases.lines(file("short\nmuch too long\n"), TEXT, 8);
+	}
+
+	@Test
+	public void testReadsFixedLengthRecords() throws Exception {
+		final MappedTestCases<String> testCases = MappedTestCases.fixedLength(
+				file("aaabbbcccddd"), 3, TEXT, 7);
+
+		assertThat(testCases.size(), equalTo(4));
+		assertThat(testCases, contains("aaa", "bbb", "ccc", "ddd"));
+	}
+
+	@Test
+	public void testRejectsFileThatIsNotAWholeNumberOfRecords() throws Exception {
+		this.expectedException.expect(IOException.class);
+		MappedTestCases.fixedLength(file("aaabb"), 3, TEXT);
+	}
+
+	@Test
+	public void testWrapsDecoderFailures() throws Exception {
+		final MappedTestCases<String> testCases = MappedTestCases.lines(file("one\ntwo"),
+				new RecordDecoder<String>() {
+
+					public String decode(final ByteBuffer record) {
+						throw new IllegalArgumentException("bad record");
+					}
+				});
+
+		this.expectedException.expect(IllegalStateException.class);
+		testCases.get(1);
+	}
+
+	@Test
+	public void testParametricStreamsMappedTestCases() throws Exception {
+		MappedTestClass.file = file("one\ntwo\nthree");
+		final List<Runner> runners = new ArrayList<Runner>();
+		new Parametric(MappedTestClass.class) {
+			{
+				runners.addAll(getChildren());
+			}
+		};
+
+		assertThat(runners, contains(instanceOf(StreamingTestCasesRunner.class)));
+	}
+
+	@Test
+	public void testDecodesEachRecordOnlyWhenItRuns() throws Exception {
+		MappedTestClass.file = file("one\ntwo\nthree");
+		final Parametric parametric = new Parametric(MappedTestClass.class);
+		final int decodedWhileDescribing = MappedTestClass.decoded;
+
+		parametric.run(new RunNotifier());
+
+		assertThat(decodedWhileDescribing, equalTo(1));
+		assertThat(MappedTestClass.executed, contains("one", "two", "three"));
+		assertThat(parametric.getDescription().getChildren().get(0).getChildren().get(1)
+				.getDisplayName(), equalTo("[testCases 1]"));
+	}
+
+	@Test
+	public void testReportsUndecodableRecordAsFailureOfItsCase() throws Exception {
+		MappedTestClass.file = file("one\nbad\nthree");
+		final List<Description> failed = new ArrayList<Description>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testFailure(final Failure failure) {
+				failed.add(failure.getDescription());
+			}
+		});
+
+		new Parametric(MappedTestClass.class).run(notifier);
+
+		assertThat(failed, hasSize(1));
+		assertThat(failed.get(0).getDisplayName(), equalTo("[testCases 1]"));
+		assertThat(MappedTestClass.executed, contains("one", "three"));
+	}
+
+	@Test
+	public void testUndecodableRecordFailsOnlyItsCaseWithDefaultNaming() throws Exception {
+		NamedMappedTestClass.file = file("one\nbad\nthree");
+		final List<Description> failed = new ArrayList<Description>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testFailure(final Failure failure) {
+				failed.add(failure.getDescription());
+			}
+		});
+		final Parametric parametric = new Parametric(NamedMappedTestClass.class);
+
+		parametric.run(notifier);
+
+		assertThat(parametric.getDescription().getChildren().get(0).getChildren(), hasSize(3));
+		assertThat(failed, hasSize(1));
+		assertThat(failed.get(0).getDisplayName(), equalTo("[testCases 1]"));
+		assertThat(NamedMappedTestClass.executed, contains("one", "three"));
+	}
+
+	private File file(final String contents) throws IOException {
+		final File file = this.temporaryFolder.newFile();
+		final FileOutputStream output = new FileOutputStream(file);
+		try {
+			output.write(contents.getBytes(UTF_8));
+		} finally {
+			output.close();
+		}
+		return file;
+	}
+
+}
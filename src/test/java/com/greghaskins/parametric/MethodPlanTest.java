@@ -0,0 +1,231 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestClass;
+import org.junit.runners.model.TestTimedOutException;
+
+public class MethodPlanTest {
+
+	static final List<String> events = new ArrayList<String>();
+
+	@Ignore
+	public static class PlannedTestClass {
+
+		private final int value;
+
+		@Rule
+		public TestRule testRule = new RecordingTestRule("test rule");
+
+		@Rule
+		public MethodRule methodRule = new RecordingMethodRule("method rule");
+
+		@Rule
+		public RecordingRule bothKindsOfRule = new RecordingRule("both");
+
+		public PlannedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<PlannedTestClass> testCases() {
+			return Arrays.asList(new PlannedTestClass(1), new PlannedTestClass(2));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Before
+		public void setUp() {
+			events.add("before");
+		}
+
+		@After
+		public void tearDown() {
+			events.add("after");
+		}
+
+		@Test(expected = IllegalStateException.class)
+		public void throwsExpectedException() {
+			events.add("test " + this.value);
+			throw new IllegalStateException();
+		}
+	}
+
+	@Ignore
+	public static class TimeoutTestClass {
+
+		@TestCases
+		public static Iterable<TimeoutTestClass> testCases() {
+			return Arrays.asList(new TimeoutTestClass());
+		}
+
+		@Test(timeout = 50)
+		public void takesTooLong() throws InterruptedException {
+			Thread.sleep(10000);
+		}
+
+		@Test
+		public void withoutAnnotations() {
+		}
+	}
+
+	public abstract static class Recording {
+
+		private final String name;
+
+		Recording(final String name) {
+			this.name = name;
+		}
+
+		Statement record(final Statement base) {
+			return new Statement() {
+
+				@Override
+				public void evaluate() throws Throwable {
+					events.add(Recording.this.name);
+					base.evaluate();
+				}
+			};
+		}
+	}
+
+	public static class RecordingTestRule extends Recording implements TestRule {
+
+		public RecordingTestRule(final String name) {
+			super(name);
+		}
+
+		public Statement apply(final Statement base, final Description description) {
+			return record(base);
+		}
+	}
+
+	public static class RecordingMethodRule extends Recording implements MethodRule {
+
+		public RecordingMethodRule(final String name) {
+			super(name);
+		}
+
+		public Statement apply(final Statement base, final FrameworkMethod method,
+				final Object target) {
+			return record(base);
+		}
+	}
+
+	/**
+	 * Both kinds of rule at once, which JUnit applies only as a test rule.
+	 */
+	public static class RecordingRule extends Recording implements TestRule, MethodRule {
+
+		public RecordingRule(final String name) {
+			super(name);
+		}
+
+		public Statement apply(final Statement base, final Description description) {
+			return record(base);
+		}
+
+		public Statement apply(final Statement base, final FrameworkMethod method,
+				final Object target) {
+			return record(base);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		events.clear();
+	}
+
+	@Test
+	public void testPlanListsDecoratorsOfMethod() throws Exception {
+		final TestClass testClass = new TestClass(PlannedTestClass.class);
+
+		final MethodPlan plan = MethodPlan.forMethod(testClass, new FrameworkMethod(
+				PlannedTestClass.class.getMethod("throwsExpectedException")));
+
+		assertThat(plan.getExpectedException(), equalTo((Object) IllegalStateException.class));
+		assertThat(plan.getTimeout(), equalTo(0L));
+		assertThat(plan.getBefores(), hasSize(1));
+		assertThat(plan.getAfters(), hasSize(1));
+		assertThat(plan.hasRules(), equalTo(true));
+	}
+
+	@Test
+	public void testPlanOfUndecoratedMethod() throws Exception {
+		final TestClass testClass = new TestClass(TimeoutTestClass.class);
+
+		final MethodPlan plan = MethodPlan.forMethod(testClass, new FrameworkMethod(
+				TimeoutTestClass.class.getMethod("withoutAnnotations")));
+
+		assertThat(plan.getExpectedException(), nullValue());
+		assertThat(plan.getBefores(), hasSize(0));
+		assertThat(plan.hasRules(), equalTo(false));
+	}
+
+	@Test
+	public void testPlanIsBuiltOncePerClass() throws Exception {
+		final FrameworkMethod method = new FrameworkMethod(PlannedTestClass.class
+				.getMethod("throwsExpectedException"));
+		final TestClassMetadata metadata = TestClassMetadata.forClass(PlannedTestClass.class);
+
+		assertThat(metadata.planFor(method), sameInstance(metadata.planFor(method)));
+	}
+
+	@Test
+	public void testRulesAndLifecycleMethodsApplyToEveryCase() throws Exception {
+		final List<Failure> failures = run(PlannedTestClass.class);
+
+		assertThat(failures, hasSize(0));
+		assertThat(events, contains("test rule", "both", "method rule", "before", "test 1",
+				"after", "test rule", "both", "method rule", "before", "test 2", "after"));
+	}
+
+	@Test
+	public void testTimeoutFailsTheTest() throws Exception {
+		final List<Failure> failures = run(TimeoutTestClass.class);
+
+		assertThat(failures, hasSize(1));
+		assertThat(failures.get(0).getException(), instanceOf(TestTimedOutException.class));
+	}
+
+	private static List<Failure> run(final Class<?> testClass) throws Exception {
+		final List<Failure> failures = new ArrayList<Failure>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+
+			@Override
+			public void testFailure(final Failure failure) {
+				failures.add(failure);
+			}
+		});
+		new Parametric(testClass).run(notifier);
+		return failures;
+	}
+
+}
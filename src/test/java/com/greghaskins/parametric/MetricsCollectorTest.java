@@ -0,0 +1,197 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunNotifier;
+
+public class MetricsCollectorTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	public static class CollectingListener implements MetricsListener {
+
+		static final List<TestMetrics> measured = new ArrayList<TestMetrics>();
+		static final List<MetricsSummary> summarized = new ArrayList<MetricsSummary>();
+
+		public void testMeasured(final TestMetrics metrics) {
+			measured.add(metrics);
+		}
+
+		public void testCasesSummarized(final MetricsSummary summary) {
+			summarized.add(summary);
+		}
+	}
+
+	@Ignore
+	@RecordMetrics(listeners = CollectingListener.class)
+	public static class MeasuredTestClass {
+
+		private final int value;
+
+		public MeasuredTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<MeasuredTestClass> someCases() {
+			return Arrays.asList(new MeasuredTestClass(1), new MeasuredTestClass(2),
+					new MeasuredTestClass(3));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() throws Exception {
+			Thread.sleep(this.value);
+		}
+	}
+
+	@Ignore
+	@RecordMetrics(listeners = CollectingListener.class)
+	@RunMethodsInParallel(threads = 2, threadSafe = true)
+	public static class ParallelMethodsTestClass {
+
+		static volatile byte[] allocated;
+
+		@TestCases
+		public static Iterable<ParallelMethodsTestClass> someCases() {
+			return Arrays.asList(new ParallelMethodsTestClass());
+		}
+
+		@Test
+		public void first() {
+			allocated = new byte[4 << 20];
+		}
+
+		@Test
+		public void second() {
+			allocated = new byte[4 << 20];
+		}
+	}
+
+	@Before
+	public void reset() {
+		CollectingListener.measured.clear();
+		CollectingListener.summarized.clear();
+	}
+
+	@Test
+	public void testMeasuresEveryCaseAndTestMethod() throws Exception {
+		new Parametric(MeasuredTestClass.class).run(new RunNotifier());
+
+		assertThat(CollectingListener.measured, hasSize(6));
+		final TestMetrics methodMetrics = CollectingListener.measured.get(0);
+		assertThat(methodMetrics.getTestCasesMethodName(), equalTo("someCases"));
+		assertThat(methodMetrics.getCaseName(), equalTo("[1]"));
+		assertThat(methodMetrics.getMethodName(), equalTo("something"));
+		assertThat(methodMetrics.getWallNanos(), greaterThanOrEqualTo(1000000L));
+		final TestMetrics caseMetrics = CollectingListener.measured.get(1);
+		assertThat(caseMetrics.getCaseName(), equalTo("[1]"));
+		assertThat(caseMetrics.getMethodName(), nullValue());
+	}
+
+	@Test
+	public void testCaseIncludesWorkOfMethodsRunInParallel() throws Exception {
+		new Parametric(ParallelMethodsTestClass.class).run(new RunNotifier());
+
+		assertThat(CollectingListener.measured, hasSize(3));
+		final TestMetrics caseMetrics = CollectingListener.measured.get(2);
+		assertThat(caseMetrics.getMethodName(), nullValue());
+		long methodBytes = 0;
+		long methodCpuNanos = 0;
+		for (final TestMetrics methodMetrics : CollectingListener.measured.subList(0, 2)) {
+			methodBytes += methodMetrics.getAllocatedBytes();
+			methodCpuNanos += methodMetrics.getCpuNanos();
+		}
+		assumeTrue(caseMetrics.getAllocatedBytes() >= 0);
+		assertThat(methodBytes, greaterThanOrEqualTo(2L * (4 << 20)));
+		assertThat(caseMetrics.getAllocatedBytes(), greaterThanOrEqualTo(methodBytes));
+		assumeTrue(caseMetrics.getCpuNanos() >= 0);
+		assertThat(caseMetrics.getCpuNanos(), greaterThanOrEqualTo(methodCpuNanos));
+	}
+
+	@Test
+	public void testSummarizesEachTestCasesMethodAtEndOfRun() throws Exception {
+		new Parametric(MeasuredTestClass.class).run(new RunNotifier());
+
+		assertThat(CollectingListener.summarized, hasSize(1));
+		final MetricsSummary summary = CollectingListener.summarized.get(0);
+		assertThat(summary.getTestCasesMethodName(), equalTo("someCases"));
+		assertThat(summary.getCaseCount(), equalTo(3));
+		assertThat(summary.getWallNanos().getMax(), greaterThanOrEqualTo(3000000L));
+	}
+
+	@Test
+	public void testPercentilesUseNearestRank() throws Exception {
+		final long[] values = new long[100];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i + 1;
+		}
+		final MetricsSummary.Distribution distribution = new MetricsSummary.Distribution(values);
+
+		assertThat(distribution.getP50(), equalTo(50L));
+		assertThat(distribution.getP90(), equalTo(90L));
+		assertThat(distribution.getP99(), equalTo(99L));
+		assertThat(distribution.getMax(), equalTo(100L));
+	}
+
+	@Test
+	public void testWritesOneJsonObjectPerLine() throws Exception {
+		final File file = new File(this.temporaryFolder.getRoot(), "metrics.jsonl");
+		final MetricsCollector collector = new MetricsCollector(
+				Collections.<MetricsListener> emptyList(), file);
+
+		collector.record(new TestMetrics("testCases", "[a \"quoted\" case]", "someTest", 10, 5,
+				100));
+		collector.record(new TestMetrics("testCases", "[a \"quoted\" case]", null, 20, 6, 200));
+		collector.finish();
+
+		final List<String> lines = readLines(file);
+		assertThat(lines, hasSize(3));
+		assertThat(lines.get(0), equalTo("{\"type\":\"test\",\"testCases\":\"testCases\","
+				+ "\"case\":\"[a \\\"quoted\\\" case]\",\"method\":\"someTest\","
+				+ "\"wallNanos\":10,\"cpuNanos\":5,\"allocatedBytes\":100}"));
+		assertThat(lines.get(2), startsWith("{\"type\":\"summary\",\"testCases\":\"testCases\","
+				+ "\"cases\":1,"));
+		assertThat(lines.get(2), containsString("\"wallNanos\":{\"p50\":20,"));
+	}
+
+	private static List<String> readLines(final File file) throws Exception {
+		final List<String> lines = new ArrayList<String>();
+		final BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+
+}
@@ -0,0 +1,245 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+public class ParallelMethodsTest {
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	@Ignore
+	@RunMethodsInParallel(threads = 2, threadSafe = true)
+	public static class ThreadSafeTestClass {
+
+		static CountDownLatch bothRunning;
+		static final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+		@TestCases
+		public static Iterable<ThreadSafeTestClass> testCases() {
+			return Arrays.asList(new ThreadSafeTestClass());
+		}
+
+		@Before
+		public void before() {
+			events.add("before");
+		}
+
+		@After
+		public void after() {
+			events.add("after");
+		}
+
+		@Test
+		public void first() throws Exception {
+			bothRunning.countDown();
+			events.add("first waited " + bothRunning.await(5, TimeUnit.SECONDS));
+		}
+
+		@Test
+		public void second() throws Exception {
+			bothRunning.countDown();
+			events.add("second waited " + bothRunning.await(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Ignore
+	@RunMethodsInParallel(threads = 2)
+	public static class CloneableTestClass implements Cloneable {
+
+		static CloneableTestClass original;
+		static final Set<Object> instancesUsed = Collections.synchronizedSet(new HashSet<Object>());
+
+		@TestCases
+		public static Iterable<CloneableTestClass> testCases() {
+			original = new CloneableTestClass();
+			return Arrays.asList(original);
+		}
+
+		@Override
+		public CloneableTestClass clone() throws CloneNotSupportedException {
+			return (CloneableTestClass) super.clone();
+		}
+
+		@Test
+		public void first() {
+			instancesUsed.add(new IdentityKey(this));
+		}
+
+		@Test
+		public void second() {
+			instancesUsed.add(new IdentityKey(this));
+		}
+
+		@Test
+		public void third() {
+			instancesUsed.add(new IdentityKey(this));
+		}
+	}
+
+	@Ignore
+	@RunMethodsInParallel(threads = 2, threadSafe = true)
+	public static class ManyCasesTestClass {
+
+		static final Set<Thread> threadsUsed = Collections.synchronizedSet(new HashSet<Thread>());
+
+		@TestCases
+		public static Iterable<ManyCasesTestClass> testCases() {
+			final List<ManyCasesTestClass> cases = new ArrayList<ManyCasesTestClass>();
+			for (int i = 0; i < 50; i++) {
+				cases.add(new ManyCasesTestClass());
+			}
+			return cases;
+		}
+
+		@Test
+		public void first() {
+			threadsUsed.add(Thread.currentThread());
+		}
+
+		@Test
+		public void second() {
+			threadsUsed.add(Thread.currentThread());
+		}
+	}
+
+	@Ignore
+	@RunMethodsInParallel
+	public static class TestClassThatCannotBeCopied {
+
+		@TestCases
+		public static Iterable<TestClassThatCannotBeCopied> testCases() {
+			return Arrays.asList(new TestClassThatCannotBeCopied());
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Before
+	public void reset() {
+		ThreadSafeTestClass.bothRunning = new CountDownLatch(2);
+		ThreadSafeTestClass.events.clear();
+		CloneableTestClass.instancesUsed.clear();
+		ManyCasesTestClass.threadsUsed.clear();
+	}
+
+	@Test
+	public void testRunsTestMethodsOfOneCaseConcurrently() throws Exception {
+		new Parametric(ThreadSafeTestClass.class).run(new RunNotifier());
+
+		assertThat(ThreadSafeTestClass.events, hasItem("first waited true"));
+		assertThat(ThreadSafeTestClass.events, hasItem("second waited true"));
+	}
+
+	@Test
+	public void testRunsBeforeAndAfterAroundEachMethod() throws Exception {
+		new Parametric(ThreadSafeTestClass.class).run(new RunNotifier());
+
+		assertThat(ThreadSafeTestClass.events, hasSize(6));
+		assertThat(Collections.frequency(ThreadSafeTestClass.events, "before"), equalTo(2));
+		assertThat(Collections.frequency(ThreadSafeTestClass.events, "after"), equalTo(2));
+		assertThat(ThreadSafeTestClass.events.get(0), equalTo("before"));
+		assertThat(ThreadSafeTestClass.events.get(5), equalTo("after"));
+	}
+
+	@Test
+	public void testReportsMethodsInDeclarationOrder() throws Exception {
+		final Parametric parametric = new Parametric(ThreadSafeTestClass.class);
+		final List<Description> expected = parametric.getDescription().getChildren().get(0)
+				.getChildren();
+		final List<Description> started = new ArrayList<Description>();
+		final List<Description> finished = new ArrayList<Description>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testStarted(final Description description) {
+				started.add(description);
+			}
+
+			@Override
+			public void testFinished(final Description description) {
+				finished.add(description);
+			}
+		});
+
+		parametric.run(notifier);
+
+		assertThat(started, equalTo(expected));
+		assertThat(finished, equalTo(expected));
+	}
+
+	@Test
+	public void testGivesEachThreadItsOwnCopyOfTheCase() throws Exception {
+		new Parametric(CloneableTestClass.class).run(new RunNotifier());
+
+		assertThat(CloneableTestClass.instancesUsed.size(), lessThanOrEqualTo(2));
+		assertThat(CloneableTestClass.instancesUsed.size(), greaterThan(0));
+		assertThat(CloneableTestClass.instancesUsed, not(hasItem((Object) new IdentityKey(
+				CloneableTestClass.original))));
+	}
+
+	@Test
+	public void testCasesShareOnePoolOfWorkerThreads() throws Exception {
+		new Parametric(ManyCasesTestClass.class).run(new RunNotifier());
+
+		assertThat(ManyCasesTestClass.threadsUsed.size(), lessThanOrEqualTo(2));
+		assertThat(ManyCasesTestClass.threadsUsed.size(), greaterThan(0));
+	}
+
+	@Test
+	public void testRequiresAWayToCopyCasesThatAreNotThreadSafe() throws Exception {
+		this.expectedException.expect(Matchers.invalidTestClassExceptionWithMessage(MessageFormat
+				.format("{0} runs its test methods in parallel, so it must be marked threadSafe, "
+						+ "implement ReusableTestCase, or implement Cloneable "
+						+ "with a public clone() method",
+						TestClassThatCannotBeCopied.class.getName())));
+		new Parametric(TestClassThatCannotBeCopied.class);
+	}
+
+	private static final class IdentityKey {
+
+		private final Object object;
+
+		IdentityKey(final Object object) {
+			this.object = object;
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			return other instanceof IdentityKey && ((IdentityKey) other).object == this.object;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.object);
+		}
+	}
+
+}
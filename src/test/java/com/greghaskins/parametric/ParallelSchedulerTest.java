@@ -0,0 +1,277 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+public class ParallelSchedulerTest {
+
+	@Ignore
+	@RunInParallel(threads = 4)
+	public static class ParallelTestClass {
+
+		static final List<String> threadNames = Collections
+				.synchronizedList(new ArrayList<String>());
+
+		private final int sleepMillis;
+
+		public ParallelTestClass(final int sleepMillis) {
+			this.sleepMillis = sleepMillis;
+		}
+
+		@TestCases
+		public static Iterable<ParallelTestClass> testCases() {
+			return Arrays.asList(new ParallelTestClass(200), new ParallelTestClass(100),
+					new ParallelTestClass(50), new ParallelTestClass(0));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.sleepMillis);
+		}
+
+		@Test
+		public void sleep() throws Exception {
+			threadNames.add(Thread.currentThread().getName());
+			Thread.sleep(this.sleepMillis);
+		}
+	}
+
+	@Ignore
+	@RunInParallel(virtualThreads = true, threads = 2)
+	public static class VirtualThreadTestClass {
+
+		static final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+
+		private final String name;
+
+		public VirtualThreadTestClass(final String name) {
+			this.name = name;
+		}
+
+		@TestCases
+		public static Iterable<VirtualThreadTestClass> testCases() {
+			return Arrays.asList(new VirtualThreadTestClass("a"), new VirtualThreadTestClass("b"),
+					new VirtualThreadTestClass("c"));
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+		@Test
+		public void blockOnIo() throws Exception {
+			Thread.sleep(10);
+			executed.add(this.name);
+		}
+	}
+
+	@Before
+	public void reset() {
+		VirtualThreadTestClass.executed.clear();
+		ParallelTestClass.threadNames.clear();
+	}
+
+	@Test
+	public void testRunsTestCasesOnWorkerThreads() throws Exception {
+		new Parametric(ParallelTestClass.class).run(new RunNotifier());
+
+		assertThat(ParallelTestClass.threadNames, everyItem(startsWith("parametric-worker-")));
+	}
+
+	@Test
+	public void testReportsTestCasesInDeclaredOrder() throws Exception {
+		final List<String> finished = new ArrayList<String>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testFinished(final Description description) {
+				finished.add(description.getMethodName());
+			}
+		});
+
+		new Parametric(ParallelTestClass.class).run(notifier);
+
+		assertThat(finished, contains("sleep[200]", "sleep[100]", "sleep[50]", "sleep[0]"));
+	}
+
+	@Test
+	public void testRunsEveryTestCaseWithVirtualThreadsOrFallback() throws Exception {
+		new Parametric(VirtualThreadTestClass.class).run(new RunNotifier());
+
+		assertThat(VirtualThreadTestClass.executed, containsInAnyOrder("a", "b", "c"));
+	}
+
+	@Test
+	public void testVirtualThreadModeIsReadFromAnnotation() throws Exception {
+		final ParallelScheduler scheduler = ParallelScheduler
+				.forTestClass(VirtualThreadTestClass.class);
+
+		assertThat(scheduler.getThreads(), equalTo(2));
+		assertThat(scheduler.isUsingVirtualThreads(), equalTo(VirtualThreads.isAvailable()));
+	}
+
+	@Test
+	public void testChildThatThrowsFailsOnItsOwn() throws Exception {
+		final List<String> events = new ArrayList<String>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testFinished(final Description description) {
+				events.add("finished " + description.getDisplayName());
+			}
+
+			@Override
+			public void testFailure(final Failure failure) {
+				events.add("failed " + failure.getDescription().getDisplayName() + ": "
+						+ failure.getMessage());
+			}
+		});
+		final ParallelScheduler scheduler = new ParallelScheduler(2);
+
+		scheduler.submit(new ChildRunner("first", null), notifier);
+		scheduler.submit(new ChildRunner("broken", null) {
+			@Override
+			public void run(final RunNotifier childNotifier) {
+				throw new IllegalStateException("runner bug");
+			}
+		}, notifier);
+		scheduler.submit(new ChildRunner("last", null), notifier);
+		scheduler.finished();
+
+		assertThat(events, contains("finished first", "failed broken: runner bug",
+				"finished last"));
+	}
+
+	@Test
+	public void testBoundsChildrenInFlight() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger submitted = new AtomicInteger();
+		final AtomicInteger ran = new AtomicInteger();
+		final ParallelScheduler scheduler = new ParallelScheduler(1);
+		final Thread submitter = new Thread() {
+
+			@Override
+			public void run() {
+				final RunNotifier notifier = new RunNotifier();
+				scheduler.submit(new ChildRunner("blocked", release) {
+					@Override
+					public void run(final RunNotifier childNotifier) {
+						super.run(childNotifier);
+						ran.incrementAndGet();
+					}
+				}, notifier);
+				submitted.incrementAndGet();
+				for (int i = 0; i < 20; i++) {
+					scheduler.submit(new ChildRunner("child " + i, null) {
+						@Override
+						public void run(final RunNotifier childNotifier) {
+							ran.incrementAndGet();
+						}
+					}, notifier);
+					submitted.incrementAndGet();
+				}
+				scheduler.finished();
+			}
+		};
+		submitter.start();
+		Thread.sleep(200);
+
+		assertThat(submitted.get(), equalTo(ParallelScheduler.IN_FLIGHT_CHILDREN_PER_THREAD));
+		release.countDown();
+		submitter.join();
+		assertThat(ran.get(), equalTo(21));
+	}
+
+	@Test
+	public void testUsesConfiguredThreadCount() throws Exception {
+		assertThat(ParallelScheduler.threadCount(7), equalTo(7));
+	}
+
+	@Test
+	public void testDefaultsToAvailableProcessors() throws Exception {
+		System.clearProperty(ParallelScheduler.THREADS_PROPERTY);
+		assertThat(ParallelScheduler.threadCount(0), equalTo(Runtime.getRuntime()
+				.availableProcessors()));
+	}
+
+	@Test
+	public void testThreadCountCanBeSetWithSystemProperty() throws Exception {
+		System.setProperty(ParallelScheduler.THREADS_PROPERTY, "3");
+		try {
+			assertThat(ParallelScheduler.threadCount(0), equalTo(3));
+		} finally {
+			System.clearProperty(ParallelScheduler.THREADS_PROPERTY);
+		}
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testNonNumericThreadCountIsRejected() throws Exception {
+		System.setProperty(ParallelScheduler.THREADS_PROPERTY, "many");
+		try {
+			ParallelScheduler.threadCount(0);
+		} finally {
+			System.clearProperty(ParallelScheduler.THREADS_PROPERTY);
+		}
+	}
+
+	@Test(expected = InitializationError.class)
+	public void testThreadCountMustBePositive() throws Exception {
+		System.setProperty(ParallelScheduler.THREADS_PROPERTY, "0");
+		try {
+			ParallelScheduler.threadCount(0);
+		} finally {
+			System.clearProperty(ParallelScheduler.THREADS_PROPERTY);
+		}
+	}
+
+	private static class ChildRunner extends Runner {
+
+		private final Description description;
+		private final CountDownLatch release;
+
+		ChildRunner(final String name, final CountDownLatch release) {
+			this.description = Description.createSuiteDescription(name);
+			this.release = release;
+		}
+
+		@Override
+		public Description getDescription() {
+			return this.description;
+		}
+
+		@Override
+		public void run(final RunNotifier notifier) {
+			if (this.release != null) {
+				try {
+					this.release.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			notifier.fireTestFinished(this.description);
+		}
+	}
+
+}
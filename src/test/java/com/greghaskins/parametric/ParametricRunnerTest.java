@@ -57,6 +57,36 @@ public class ParametricRunnerTest<T> {
 		assertThat(runner.getTestClass().getJavaClass(), equalTo(testClass));
 	}
 
+	@Test
+	public void testRunnersForSameClassShareTestClassMetadata() throws Exception {
+		final ParametricRunner<SomeTestClass> runner1 = new ParametricRunner<SomeTestClass>(
+				new SomeTestClass());
+		final ParametricRunner<SomeTestClass> runner2 = new ParametricRunner<SomeTestClass>(
+				new SomeTestClass());
+		assertThat(runner1.getTestClass(), sameInstance(runner2.getTestClass()));
+	}
+
+	@Ignore
+	public static class TestClassWithNonPublicTestMethod {
+
+		@Test
+		void notPublic() {
+		}
+
+	}
+
+	@Test
+	public void testCachedValidationErrorsAreReportedForEveryRunner() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			try {
+				new ParametricRunner<TestClassWithNonPublicTestMethod>(
+						new TestClassWithNonPublicTestMethod());
+				Assert.fail("Should have thrown InitializationError");
+			} catch (final InitializationError expected) {
+			}
+		}
+	}
+
 	@Test
 	public void testExtendsStandardJUnitRunner() throws Exception {
 		assertThat(ParametricRunner.class, typeCompatibleWith(BlockJUnit4ClassRunner.class));
@@ -139,6 +169,38 @@ public class ParametricRunnerTest<T> {
 
 	}
 
+	public static class TestClassCountingToStringCalls {
+		private int toStringCalls;
+
+		@Override
+		public String toString() {
+			this.toStringCalls++;
+			return "counted";
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Test
+	public void testNameIsComputedOnlyOnce() throws Exception {
+		final TestClassCountingToStringCalls testCase = new TestClassCountingToStringCalls();
+		final ClosureReference<String> actualName = new ClosureReference<String>();
+
+		new ParametricRunner<TestClassCountingToStringCalls>(testCase) {
+			{
+				getName();
+				final Method testMethod = TestClassCountingToStringCalls.class
+						.getDeclaredMethod("something");
+				actualName.setValue(testName(new FrameworkMethod(testMethod)));
+			}
+		};
+
+		assertThat(actualName.getValue(), equalTo("something[counted]"));
+		assertThat(testCase.toStringCalls, equalTo(1));
+	}
+
 	private static class ClosureReference<T> {
 		private T value;
 
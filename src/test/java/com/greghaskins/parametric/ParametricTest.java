@@ -6,12 +6,15 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.typeCompatibleWith;
 
+import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -195,6 +198,160 @@ public class ParametricTest {
 		}
 	}
 
+	public static class WhenThereAreSeveralSlowTestCasesMethods {
+
+		@Rule
+		public ExpectedException expectedException = ExpectedException.none();
+
+		@Ignore
+		@CallTestCasesInParallel(threads = 2)
+		public static class TestClassWithProvidersThatWaitForEachOther {
+
+			private static CyclicBarrier barrier;
+
+			private final String name;
+
+			public TestClassWithProvidersThatWaitForEachOther(final String name) {
+				this.name = name;
+			}
+
+			@TestCases
+			public static Iterable<TestClassWithProvidersThatWaitForEachOther> firstTestCases()
+					throws Exception {
+				barrier.await(5, TimeUnit.SECONDS);
+				return Arrays.asList(new TestClassWithProvidersThatWaitForEachOther("first 1"),
+						new TestClassWithProvidersThatWaitForEachOther("first 2"));
+			}
+
+			@TestCases
+			public static Iterable<TestClassWithProvidersThatWaitForEachOther> secondTestCases()
+					throws Exception {
+				barrier.await(5, TimeUnit.SECONDS);
+				return Arrays.asList(new TestClassWithProvidersThatWaitForEachOther("second 1"),
+						new TestClassWithProvidersThatWaitForEachOther("second 2"));
+			}
+
+			@Override
+			public String toString() {
+				return this.name;
+			}
+
+			@Test
+			public void someTest() {
+			}
+		}
+
+		@Ignore
+		public static class TestClassWithProvidersThatShareState {
+
+			private static int running;
+			private static boolean overlapped;
+
+			@TestCases
+			public static Iterable<TestClassWithProvidersThatShareState> firstTestCases()
+					throws Exception {
+				return slowTestCases();
+			}
+
+			@TestCases
+			public static Iterable<TestClassWithProvidersThatShareState> secondTestCases()
+					throws Exception {
+				return slowTestCases();
+			}
+
+			private static synchronized void enter() {
+				if (running++ > 0) {
+					overlapped = true;
+				}
+			}
+
+			private static synchronized void exit() {
+				running--;
+			}
+
+			private static Iterable<TestClassWithProvidersThatShareState> slowTestCases()
+					throws Exception {
+				enter();
+				try {
+					Thread.sleep(50);
+					return Arrays.asList(new TestClassWithProvidersThatShareState());
+				} finally {
+					exit();
+				}
+			}
+
+			@Test
+			public void someTest() {
+			}
+		}
+
+		@Ignore
+		@CallTestCasesInParallel
+		public static class TestClassWithOneFailingProvider {
+
+			@TestCases
+			public static Iterable<TestClassWithOneFailingProvider> goodTestCases() {
+				return Arrays.asList(new TestClassWithOneFailingProvider());
+			}
+
+			@TestCases
+			public static Iterable<TestClassWithOneFailingProvider> badTestCases() {
+				throw new RuntimeException();
+			}
+
+			@Test
+			public void someTest() {
+			}
+		}
+
+		@Before
+		public void createBarrier() {
+			TestClassWithProvidersThatWaitForEachOther.barrier = new CyclicBarrier(2);
+		}
+
+		@Test
+		public void testInvokesTestCasesMethodsConcurrently() throws Exception {
+			final List<Runner> childRunners = constructRunnerAndGetChildren(TestClassWithProvidersThatWaitForEachOther.class);
+
+			assertThat(childRunners.size(), equalTo(4));
+		}
+
+		@Test
+		public void testCallsTestCasesMethodsOneAtATimeUnlessAsked() throws Exception {
+			TestClassWithProvidersThatShareState.overlapped = false;
+
+			final List<Runner> childRunners = constructRunnerAndGetChildren(TestClassWithProvidersThatShareState.class);
+
+			assertThat(childRunners.size(), equalTo(2));
+			assertThat(TestClassWithProvidersThatShareState.overlapped, equalTo(false));
+		}
+
+		@Test
+		public void testKeepsRunnersInTestCasesMethodOrder() throws Exception {
+			final List<String> expectedNames = new ArrayList<String>();
+			for (final Method method : TestClassWithProvidersThatWaitForEachOther.class.getMethods()) {
+				if (method.isAnnotationPresent(TestCases.class)) {
+					final String prefix = method.getName().replace("TestCases", "");
+					expectedNames.add("[" + prefix + " 1]");
+					expectedNames.add("[" + prefix + " 2]");
+				}
+			}
+
+			final List<String> actualNames = new ArrayList<String>();
+			for (final Runner runner : constructRunnerAndGetChildren(TestClassWithProvidersThatWaitForEachOther.class)) {
+				actualNames.add(runner.getDescription().getDisplayName());
+			}
+
+			assertThat(actualNames, equalTo(expectedNames));
+		}
+
+		@Test
+		public void testThrowsInitializationErrorWhenAnyTestCasesMethodFails() throws Exception {
+			this.expectedException.expect(InitializationError.class);
+			new Parametric(TestClassWithOneFailingProvider.class);
+		}
+	}
+
 	private static List<Runner> constructRunnerAndGetChildren(final Class<?> testClass)
 			throws InitializationError {
 		final List<Runner> runners = new ArrayList<Runner>();
@@ -0,0 +1,233 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+public class ResultCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Ignore
+	@IncrementalRun
+	public static class IncrementalTestClass {
+
+		static final List<Integer> executed = new ArrayList<Integer>();
+		static boolean failSecondCase;
+
+		private final int value;
+
+		public IncrementalTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<IncrementalTestClass> testCases() {
+			return Arrays.asList(new IncrementalTestClass(1), new IncrementalTestClass(2),
+					new IncrementalTestClass(3));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+			executed.add(this.value);
+			if (failSecondCase && this.value == 2) {
+				throw new AssertionError("second case fails");
+			}
+		}
+	}
+
+	@Ignore
+	public static class TestClassWithCaseKey {
+
+		private final String key;
+
+		public TestClassWithCaseKey(final String key) {
+			this.key = key;
+		}
+
+		@CaseKey
+		public String key() {
+			return this.key;
+		}
+	}
+
+	public static class Point {
+
+		private final int x;
+		private final int y;
+
+		Point(final int x, final int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	public static class Node {
+
+		Node next;
+	}
+
+	@Ignore
+	public static class TestClassWithNestedState {
+
+		private final Point point;
+		private final List<Point> points;
+		private final Set<String> tags;
+		private final Node node = new Node();
+
+		public TestClassWithNestedState(final int x, final String... tags) {
+			this.point = new Point(x, 2);
+			this.points = Arrays.asList(new Point(3, 4), new Point(x, x));
+			this.tags = new HashSet<String>(Arrays.asList(tags));
+			this.node.next = this.node;
+		}
+	}
+
+	@Ignore
+	public static class TestClassWithUnstableState {
+
+		private final Object lock = new Object();
+	}
+
+	@Before
+	public void setUp() {
+		System.setProperty(ResultCache.DIRECTORY_PROPERTY, this.temporaryFolder.getRoot()
+				.getPath());
+		IncrementalTestClass.executed.clear();
+		IncrementalTestClass.failSecondCase = false;
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(ResultCache.DIRECTORY_PROPERTY);
+		System.clearProperty(ResultCache.ENABLED_PROPERTY);
+	}
+
+	@Test
+	public void testSecondRunSkipsCasesThatPassed() throws Exception {
+		run(IncrementalTestClass.class);
+		IncrementalTestClass.executed.clear();
+
+		final List<String> ignored = run(IncrementalTestClass.class);
+
+		assertThat(IncrementalTestClass.executed, empty());
+		assertThat(ignored, hasSize(3));
+	}
+
+	@Test
+	public void testFailedCasesRunAgain() throws Exception {
+		IncrementalTestClass.failSecondCase = true;
+		run(IncrementalTestClass.class);
+		IncrementalTestClass.executed.clear();
+
+		run(IncrementalTestClass.class);
+
+		assertThat(IncrementalTestClass.executed, contains(2));
+	}
+
+	@Test
+	public void testEveryCaseRunsWhenDisabledBySystemProperty() throws Exception {
+		run(IncrementalTestClass.class);
+		IncrementalTestClass.executed.clear();
+		System.setProperty(ResultCache.ENABLED_PROPERTY, "false");
+
+		run(IncrementalTestClass.class);
+
+		assertThat(IncrementalTestClass.executed, contains(1, 2, 3));
+	}
+
+	@Test
+	public void testResultsForDifferentClassHashAreDiscarded() throws Exception {
+		final File file = this.temporaryFolder.newFile("Some.results");
+		final FileWriter writer = new FileWriter(file);
+		writer.write("oldhash\nsomekey\n");
+		writer.close();
+
+		assertThat(new ResultCache(file, "oldhash").hasPassed("somekey"), equalTo(true));
+		assertThat(new ResultCache(file, "newhash").hasPassed("somekey"), equalTo(false));
+	}
+
+	@Test
+	public void testCaseKeyMethodIdentifiesTestCase() throws Exception {
+		assertThat(CaseIdentity.of(new TestClassWithCaseKey("abc"), "[name]"),
+				equalTo("key:abc"));
+	}
+
+	@Test
+	public void testStateIdentityChangesWithFieldValues() throws Exception {
+		final String first = CaseIdentity.of(new IncrementalTestClass(1), "[x]");
+		final String second = CaseIdentity.of(new IncrementalTestClass(2), "[x]");
+
+		assertThat(first, startsWith("state:[x]:"));
+		assertThat(first, not(equalTo(second)));
+		assertThat(first, equalTo(CaseIdentity.of(new IncrementalTestClass(1), "[x]")));
+	}
+
+	@Test
+	public void testStateIdentityFollowsNestedValues() throws Exception {
+		final String first = CaseIdentity.of(new TestClassWithNestedState(1, "a", "b"), "[x]");
+
+		assertThat(CaseIdentity.of(new TestClassWithNestedState(1, "b", "a"), "[x]"),
+				equalTo(first));
+		assertThat(CaseIdentity.of(new TestClassWithNestedState(2, "a", "b"), "[x]"),
+				not(equalTo(first)));
+		assertThat(CaseIdentity.of(new TestClassWithNestedState(1, "a"), "[x]"),
+				not(equalTo(first)));
+	}
+
+	@Test(expected = InvalidParametricTestClassException.class)
+	public void testStateWithoutStableValueIsRejected() throws Exception {
+		CaseIdentity.of(new TestClassWithUnstableState(), "[x]");
+	}
+
+	@Test
+	public void testOnlyTheResultsFileIsLeftBehind() throws Exception {
+		run(IncrementalTestClass.class);
+
+		assertThat(this.temporaryFolder.getRoot().list(), arrayContaining(IncrementalTestClass.class
+				.getName() + ".results"));
+	}
+
+	private static List<String> run(final Class<?> testClass) throws Exception {
+		final List<String> ignored = new ArrayList<String>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testIgnored(final Description description) {
+				ignored.add(description.getDisplayName());
+			}
+		});
+		new Parametric(testClass).run(notifier);
+		return ignored;
+	}
+
+}
@@ -0,0 +1,223 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+public class SamplingTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Ignore
+	@Sample(count = 10, seed = 42)
+	public static class SampledTestClass {
+
+		private final int value;
+
+		public SampledTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<SampledTestClass> testCases() {
+			final List<SampledTestClass> cases = new ArrayList<SampledTestClass>();
+			for (int i = 0; i < 1000; i++) {
+				cases.add(new SampledTestClass(i));
+			}
+			return cases;
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void alwaysFails() {
+			throw new AssertionError("case " + this.value + " fails");
+		}
+	}
+
+	@Ignore
+	@Sample(fraction = 0.1, seed = 7)
+	public static class FractionSampledTestClass implements ReusableTestCase<int[]> {
+
+		@TestCases
+		public static IntCases testCases() {
+			return IntCases.range(0, 2000);
+		}
+
+		public void bind(final int[] values) {
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	@Sample(count = 1, fraction = 0.5)
+	public static class TestClassWithCountAndFraction {
+
+		@TestCases
+		public static Iterable<TestClassWithCountAndFraction> testCases() {
+			return new ArrayList<TestClassWithCountAndFraction>();
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class UnannotatedTestClass {
+
+		private final int value;
+
+		public UnannotatedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<UnannotatedTestClass> testCases() {
+			final List<UnannotatedTestClass> cases = new ArrayList<UnannotatedTestClass>();
+			for (int i = 0; i < 100; i++) {
+				cases.add(new UnannotatedTestClass(i));
+			}
+			return cases;
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@After
+	public void clearProperties() {
+		System.clearProperty(Sampling.COUNT_PROPERTY);
+		System.clearProperty(Sampling.FRACTION_PROPERTY);
+		System.clearProperty(Sampling.SEED_PROPERTY);
+	}
+
+	@Test
+	public void testRunsOnlyTheSampledCount() throws Exception {
+		assertThat(caseNames(SampledTestClass.class), hasSize(10));
+	}
+
+	@Test
+	public void testSameSeedChoosesSameCasesInDeclarationOrder() throws Exception {
+		final List<String> first = caseNames(SampledTestClass.class);
+		final List<String> second = caseNames(SampledTestClass.class);
+
+		assertThat(second, equalTo(first));
+		for (int i = 1; i < first.size(); i++) {
+			assertThat(numberIn(first.get(i)), greaterThan(numberIn(first.get(i - 1))));
+		}
+	}
+
+	@Test
+	public void testSeedPropertyChoosesDifferentCases() throws Exception {
+		final List<String> withAnnotationSeed = caseNames(SampledTestClass.class);
+		System.setProperty(Sampling.SEED_PROPERTY, "43");
+
+		assertThat(caseNames(SampledTestClass.class), not(equalTo(withAnnotationSeed)));
+	}
+
+	@Test
+	public void testSamplesFractionOfStreamedCases() throws Exception {
+		final Description testCasesDescription = new Parametric(FractionSampledTestClass.class)
+				.getDescription().getChildren().get(0);
+
+		assertThat(testCasesDescription.getChildren().size(), greaterThan(150));
+		assertThat(testCasesDescription.getChildren().size(), lessThan(250));
+	}
+
+	@Test
+	public void testSystemPropertySamplesUnannotatedClasses() throws Exception {
+		System.setProperty(Sampling.COUNT_PROPERTY, "5");
+
+		assertThat(caseNames(UnannotatedTestClass.class), hasSize(5));
+	}
+
+	@Test
+	public void testKeepsEveryCaseWhenThereAreFewerThanTheCount() throws Exception {
+		System.setProperty(Sampling.COUNT_PROPERTY, "500");
+
+		assertThat(caseNames(UnannotatedTestClass.class), hasSize(100));
+	}
+
+	@Test
+	public void testRejectsBothCountAndFraction() throws Exception {
+		this.exception.expect(InitializationError.class);
+		new Parametric(TestClassWithCountAndFraction.class);
+	}
+
+	@Test
+	public void testRejectsFractionAboveOne() throws Exception {
+		System.setProperty(Sampling.FRACTION_PROPERTY, "1.5");
+
+		this.exception.expect(InitializationError.class);
+		new Parametric(UnannotatedTestClass.class);
+	}
+
+	@Test
+	public void testReportsSeedWhenSampledRunFails() throws Exception {
+		final List<Failure> reported = new ArrayList<Failure>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+
+			@Override
+			public void testAssumptionFailure(final Failure failure) {
+				reported.add(failure);
+			}
+		});
+
+		new Parametric(SampledTestClass.class).run(notifier);
+
+		assertThat(reported, hasSize(1));
+		assertThat(reported.get(0).getDescription().isSuite(), equalTo(true));
+		assertThat(reported.get(0).getMessage(), containsString("-Dparametric.sample.seed=42"));
+	}
+
+	private static List<String> caseNames(final Class<?> testClass) throws Exception {
+		final List<String> names = new ArrayList<String>();
+		new Parametric(testClass) {
+			{
+				for (final Runner runner : getChildren()) {
+					names.add(runner.getDescription().getDisplayName());
+				}
+			}
+		};
+		return names;
+	}
+
+	private static int numberIn(final String name) {
+		return Integer.parseInt(name.substring(1, name.length() - 1));
+	}
+
+}
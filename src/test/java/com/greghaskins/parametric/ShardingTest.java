@@ -0,0 +1,190 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.Runner;
+import org.junit.runners.model.InitializationError;
+
+public class ShardingTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Ignore
+	public static class ShardedTestClass {
+
+		private final int value;
+
+		public ShardedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases
+		public static Iterable<ShardedTestClass> testCases() {
+			final List<ShardedTestClass> cases = new ArrayList<ShardedTestClass>();
+			for (int i = 0; i < 100; i++) {
+				cases.add(new ShardedTestClass(i));
+			}
+			return cases;
+		}
+
+		@Override
+		public String toString() {
+			return "case " + this.value;
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@Ignore
+	public static class IndexNamedTestClass {
+
+		static int firstValue;
+
+		private final int value;
+
+		public IndexNamedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases(naming = CaseNaming.INDEX)
+		public static Iterable<IndexNamedTestClass> testCases() {
+			final List<IndexNamedTestClass> cases = new ArrayList<IndexNamedTestClass>();
+			for (int i = firstValue; i < 100; i++) {
+				cases.add(new IndexNamedTestClass(i));
+			}
+			return cases;
+		}
+
+		@Test
+		public void something() {
+		}
+	}
+
+	@After
+	public void clearProperties() {
+		System.clearProperty(Sharding.INDEX_PROPERTY);
+		System.clearProperty(Sharding.COUNT_PROPERTY);
+		IndexNamedTestClass.firstValue = 0;
+	}
+
+	@Test
+	public void testNotShardedWithoutSystemProperties() throws Exception {
+		final Sharding sharding = Sharding.fromSystemProperties();
+		assertThat(sharding.isSharded(), equalTo(false));
+		assertThat(sharding.includes("anything"), equalTo(true));
+	}
+
+	@Test
+	public void testEveryCaseBelongsToExactlyOneShard() throws Exception {
+		final Sharding[] shards = { new Sharding(0, 3), new Sharding(1, 3), new Sharding(2, 3) };
+		for (int i = 0; i < 1000; i++) {
+			int matches = 0;
+			for (final Sharding shard : shards) {
+				if (shard.includes("case " + i)) {
+					matches++;
+				}
+			}
+			assertThat(matches, equalTo(1));
+		}
+	}
+
+	@Test
+	public void testShardAssignmentDependsOnIdentityNotPosition() throws Exception {
+		assertThat(Sharding.shardOf("some case", 7), equalTo(Sharding.shardOf(
+				new String("some case"), 7)));
+	}
+
+	@Test
+	public void testShardsAreRoughlyBalanced() throws Exception {
+		final int[] counts = new int[4];
+		for (int i = 0; i < 10000; i++) {
+			counts[Sharding.shardOf("case " + i, counts.length)]++;
+		}
+		for (final int count : counts) {
+			assertThat(count, greaterThan(2250));
+			assertThat(count, lessThan(2750));
+		}
+	}
+
+	@Test
+	public void testParametricOnlyBuildsRunnersForCasesInShard() throws Exception {
+		int total = 0;
+		for (int index = 0; index < 3; index++) {
+			System.setProperty(Sharding.INDEX_PROPERTY, String.valueOf(index));
+			System.setProperty(Sharding.COUNT_PROPERTY, "3");
+			final List<Runner> runners = childRunners(ShardedTestClass.class);
+			for (final Runner runner : runners) {
+				final String name = ((ParametricRunner<?>) runner).getName();
+				assertThat(Sharding.shardOf(name, 3), equalTo(index));
+			}
+			total += runners.size();
+		}
+		assertThat(total, equalTo(100));
+	}
+
+	@Test
+	public void testCasesNamedByIndexKeepTheirShardWhenAnEarlierCaseIsRemoved()
+			throws Exception {
+		System.setProperty(Sharding.INDEX_PROPERTY, "1");
+		System.setProperty(Sharding.COUNT_PROPERTY, "3");
+		final Set<Integer> withFirstCase = shardedValues();
+		IndexNamedTestClass.firstValue = 1;
+		final Set<Integer> withoutFirstCase = shardedValues();
+
+		withFirstCase.remove(0);
+		assertThat(withoutFirstCase, equalTo(withFirstCase));
+		assertThat(withoutFirstCase.size(), greaterThan(20));
+		assertThat(withoutFirstCase.size(), lessThan(47));
+	}
+
+	@Test
+	public void testSingleShardKeepsEveryCase() throws Exception {
+		System.setProperty(Sharding.INDEX_PROPERTY, "0");
+		System.setProperty(Sharding.COUNT_PROPERTY, "1");
+		assertThat(childRunners(ShardedTestClass.class), hasSize(100));
+	}
+
+	@Test
+	public void testInvalidShardIndexCausesInitializationError() throws Exception {
+		System.setProperty(Sharding.INDEX_PROPERTY, "3");
+		System.setProperty(Sharding.COUNT_PROPERTY, "3");
+		this.exception.expect(InitializationError.class);
+		Sharding.fromSystemProperties();
+	}
+
+	private static Set<Integer> shardedValues() throws InitializationError {
+		final Set<Integer> values = new HashSet<Integer>();
+		for (final Runner runner : childRunners(IndexNamedTestClass.class)) {
+			values.add(((IndexNamedTestClass) ((ParametricRunner<?>) runner).getTestCase()).value);
+		}
+		return values;
+	}
+
+	private static List<Runner> childRunners(final Class<?> testClass) throws InitializationError {
+		final List<Runner> runners = new ArrayList<Runner>();
+		new Parametric(testClass) {
+			{
+				runners.addAll(getChildren());
+			}
+		};
+		return runners;
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.RunNotifier;
+
+public class StreamingTestCasesRunnerTest {
+
+	@Ignore
+	public static class StreamedTestClass {
+
+		static final List<String> executed = new ArrayList<String>();
+
+		private final int value;
+
+		public StreamedTestClass(final int value) {
+			this.value = value;
+		}
+
+		@TestCases(streaming = true)
+		public static Iterable<StreamedTestClass> testCases() {
+			return new Iterable<StreamedTestClass>() {
+
+				public Iterator<StreamedTestClass> iterator() {
+					return new Iterator<StreamedTestClass>() {
+						private int next = 0;
+
+						public boolean hasNext() {
+							return this.next < 3;
+						}
+
+						public StreamedTestClass next() {
+							return new StreamedTestClass(this.next++);
+						}
+
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			return "case " + this.value;
+		}
+
+		@Test
+		public void someTestMethod() {
+			executed.add("someTestMethod" + this.value);
+		}
+
+		@Test
+		public void anotherTestMethod() {
+			executed.add("anotherTestMethod" + this.value);
+		}
+	}
+
+	@Before
+	public void reset() {
+		StreamedTestClass.executed.clear();
+	}
+
+	@Test
+	public void testDescribesEveryTestCaseAndMethod() throws Exception {
+		final Description description = createRunner().getDescription();
+
+		assertThat(description.getDisplayName(), equalTo("testCases()"));
+		assertThat(description.getChildren(), hasSize(3));
+		assertThat(description.getChildren().get(1).getDisplayName(), equalTo("[case 1]"));
+		assertThat(description.getChildren().get(1).getChildren(), hasSize(2));
+	}
+
+	@Test
+	public void testRunsEveryTestCase() throws Exception {
+		createRunner().run(new RunNotifier());
+
+		assertThat(StreamedTestClass.executed, hasSize(6));
+	}
+
+	@Test
+	public void testFilterSkipsTestCasesWithoutMatchingMethods() throws Exception {
+		final StreamingTestCasesRunner<StreamedTestClass> runner = createRunner();
+		final Description selected = runner.getDescription().getChildren().get(2).getChildren()
+				.get(0);
+		runner.filter(Filter.matchMethodDescription(selected));
+		runner.run(new RunNotifier());
+
+		assertThat(runner.getDescription().getChildren(), hasSize(1));
+		assertThat(selected.getMethodName(), equalTo("someTestMethod[case 2]"));
+		assertThat(StreamedTestClass.executed, contains("someTestMethod2"));
+	}
+
+	@Test
+	public void testParametricUsesOneStreamingRunnerPerStreamingTestCasesMethod()
+			throws Exception {
+		final List<Runner> runners = new ArrayList<Runner>();
+		new Parametric(StreamedTestClass.class) {
+			{
+				runners.addAll(getChildren());
+			}
+		};
+
+		assertThat(runners, contains(instanceOf(StreamingTestCasesRunner.class)));
+	}
+
+	private static StreamingTestCasesRunner<StreamedTestClass> createRunner() throws Exception {
+		final Method testCasesMethod = StreamedTestClass.class.getMethod("testCases");
+		return new StreamingTestCasesRunner<StreamedTestClass>(testCasesMethod,
+				StreamedTestClass.testCases());
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+public class TestClassMetadataTest {
+
+	@Ignore
+	public static class SomeTestClass {
+
+		@Test
+		public void something() {
+		}
+
+	}
+
+	@Ignore
+	public static class SomeOtherTestClass {
+
+		@Test
+		public void somethingElse() {
+		}
+
+	}
+
+	@Test
+	public void testReturnsSameMetadataForSameClass() throws Exception {
+		assertThat(TestClassMetadata.forClass(SomeTestClass.class),
+				sameInstance(TestClassMetadata.forClass(SomeTestClass.class)));
+	}
+
+	@Test
+	public void testReturnsDifferentMetadataForDifferentClasses() throws Exception {
+		assertThat(TestClassMetadata.forClass(SomeTestClass.class),
+				not(sameInstance(TestClassMetadata.forClass(SomeOtherTestClass.class))));
+	}
+
+	@Test
+	public void testTestClassWrapsJavaClass() throws Exception {
+		final Object expectedJavaClass = SomeTestClass.class;
+		assertThat(TestClassMetadata.forClass(SomeTestClass.class).getTestClass().getJavaClass(),
+				equalTo(expectedJavaClass));
+	}
+
+	@Test
+	public void testValidationErrorsAreRemembered() throws Exception {
+		final TestClassMetadata metadata = TestClassMetadata.forClass(SomeOtherTestClass.class);
+		metadata.setValidationErrors(new ArrayList<Throwable>());
+		assertThat(metadata.getValidationErrors(), not(nullValue()));
+	}
+
+	@Test
+	public void testMetadataIsReleasedWhenNoRunnerHoldsIt() throws Exception {
+		final WeakReference<TestClassMetadata> released = new WeakReference<TestClassMetadata>(
+				TestClassMetadata.forClass(SomeTestClass.class));
+
+		for (int i = 0; i < 50 && released.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertThat(released.get(), nullValue());
+	}
+
+}
@@ -0,0 +1,199 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestTimedOutException;
+
+public class TimeoutWatchdogTest {
+
+	static final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+	@Ignore
+	@WatchdogTimeouts
+	public static class TimedTestClass {
+
+		private final int sleepMillis;
+
+		public TimedTestClass(final int sleepMillis) {
+			this.sleepMillis = sleepMillis;
+		}
+
+		@TestCases
+		public static Iterable<TimedTestClass> testCases() {
+			return Arrays.asList(new TimedTestClass(0), new TimedTestClass(10000),
+					new TimedTestClass(0));
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.sleepMillis);
+		}
+
+		@Test(timeout = 100)
+		public void finishesInTime() throws InterruptedException {
+			threads.add(Thread.currentThread());
+			Thread.sleep(this.sleepMillis);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		threads.clear();
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(TimeoutWatchdog.PROPERTY);
+	}
+
+	@Test
+	public void testTimedTestsRunOnWorkerThreads() throws Exception {
+		run(TimedTestClass.class);
+
+		assertThat(threads, hasSize(3));
+		assertThat(threads, not(hasItem(Thread.currentThread())));
+	}
+
+	@Test
+	public void testIdleWorkersAreReused() throws Throwable {
+		for (int i = 0; i < 10; i++) {
+			TimeoutWatchdog.INSTANCE.withTimeout(recordingThread(), 10000).evaluate();
+		}
+
+		assertThat(new HashSet<Thread>(threads).size(), lessThan(10));
+	}
+
+	@Test
+	public void testOverrunningCaseFailsLikeJUnitTimeout() throws Exception {
+		final List<Failure> failures = run(TimedTestClass.class);
+
+		assertThat(failures, hasSize(1));
+		assertThat(failures.get(0).getDescription().getMethodName(),
+				equalTo("finishesInTime[10000]"));
+		assertThat(failures.get(0).getException(), instanceOf(TestTimedOutException.class));
+		assertThat(failures.get(0).getMessage(), equalTo("test timed out after 100 milliseconds"));
+	}
+
+	@Test
+	public void testOverrunningTestIsInterrupted() throws Throwable {
+		final Statement sleeping = new Statement() {
+
+			@Override
+			public void evaluate() throws Throwable {
+				Thread.sleep(10000);
+			}
+		};
+
+		try {
+			TimeoutWatchdog.INSTANCE.withTimeout(sleeping, 20).evaluate();
+			fail("expected a timeout");
+		} catch (final TestTimedOutException e) {
+			assertThat(e.getStackTrace()[0].getMethodName(), startsWith("sleep"));
+		}
+		assertThat(Thread.currentThread().isInterrupted(), equalTo(false));
+	}
+
+	@Test
+	public void testTestIgnoringInterruptsIsAbandoned() throws Throwable {
+		final Statement busy = new Statement() {
+
+			@Override
+			public void evaluate() {
+				threads.add(Thread.currentThread());
+				final long end = System.nanoTime() + 2000000000L;
+				while (System.nanoTime() < end) {
+					// ignores interrupts
+				}
+			}
+		};
+		final long start = System.nanoTime();
+
+		try {
+			TimeoutWatchdog.INSTANCE.withTimeout(busy, 20).evaluate();
+			fail("expected a timeout");
+		} catch (final TestTimedOutException e) {
+			assertThat(System.nanoTime() - start, lessThan(1000000000L));
+		}
+		TimeoutWatchdog.INSTANCE.withTimeout(recordingThread(), 10000).evaluate();
+
+		assertThat(threads, hasSize(2));
+		assertThat(threads.get(1), not(sameInstance(threads.get(0))));
+	}
+
+	@Test
+	public void testFailureWithinTimeoutIsRethrown() throws Throwable {
+		final AssertionError failure = new AssertionError("fails quickly");
+		final Statement failing = new Statement() {
+
+			@Override
+			public void evaluate() {
+				throw failure;
+			}
+		};
+
+		try {
+			TimeoutWatchdog.INSTANCE.withTimeout(failing, 10000).evaluate();
+			fail("expected the failure");
+		} catch (final AssertionError e) {
+			assertThat(e, sameInstance(failure));
+		}
+	}
+
+	@Test
+	public void testEnabledBySystemProperty() throws Exception {
+		assertThat(TimeoutWatchdog.forTestClass(TimeoutWatchdogTest.class), nullValue());
+
+		System.setProperty(TimeoutWatchdog.PROPERTY, "true");
+
+		assertThat(TimeoutWatchdog.forTestClass(TimeoutWatchdogTest.class), not(nullValue()));
+	}
+
+	private static Statement recordingThread() {
+		return new Statement() {
+
+			@Override
+			public void evaluate() {
+				threads.add(Thread.currentThread());
+			}
+		};
+	}
+
+	private static List<Failure> run(final Class<?> testClass) throws Exception {
+		final List<Failure> failures = new ArrayList<Failure>();
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+
+			@Override
+			public void testFailure(final Failure failure) {
+				failures.add(failure);
+			}
+		});
+		new Parametric(testClass).run(notifier);
+		return failures;
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.greghaskins.parametric;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+
+public class VirtualThreadsTest {
+
+	@Test
+	public void testNewExecutorIsOnlyCreatedWhenVirtualThreadsAreAvailable() throws Exception {
+		final ExecutorService executor = VirtualThreads.newExecutor();
+		try {
+			assertThat(executor != null, equalTo(VirtualThreads.isAvailable()));
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void testAvailabilityMatchesRunningJvm() throws Exception {
+		boolean hasVirtualThreads;
+		try {
+			Thread.class.getMethod("ofVirtual");
+			hasVirtualThreads = true;
+		} catch (final NoSuchMethodException e) {
+			hasVirtualThreads = false;
+		}
+		assertThat(VirtualThreads.isAvailable(), equalTo(hasVirtualThreads));
+	}
+
+}